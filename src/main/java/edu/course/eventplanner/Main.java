@@ -3,18 +3,34 @@ package edu.course.eventplanner;
 import edu.course.eventplanner.model.*;
 import edu.course.eventplanner.service.*;
 import edu.course.eventplanner.util.Generators;
+import edu.course.eventplanner.util.GuestImporter;
+import java.io.IOException;
+import java.nio.file.*;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.stream.Stream;
 
 public class Main {
-    private static GuestListManager guestListManager = new GuestListManager();
+    // every change goes through the store so it can be saved; see EventStateStore
+    private static EventStateStore state = new EventStateStore();
+    private static GuestListManager guestListManager = state.getGuestListManager();
     private static VenueSelector venueSelector;
+    // set when the event directory has a venues.csv; reloaded whenever that file changes
+    private static VenueCatalog venueCatalog;
     private static Venue selectedVenue = null;
-    private static TaskManager taskManager = new TaskManager();
+    // asking for the chart again, or going back to a venue, reuses the plan until the guest list changes
+    private static final SeatingPlanCache seatingCache = new SeatingPlanCache();
+    private static TaskManager taskManager = state.getTaskManager();
     private static Scanner kb = new Scanner(System.in);
 
     public static void main(String[] args) {
         // use the shared scanner `kb`
         System.out.println("Welcome to the Event Planner Application");
+        // optional argument: directory to save the event in and reload it from
+        if (args.length > 0 && !openEvent(args[0])) {
+            return;
+        }
         menu();
         int choice = readMenuChoice();
         while (choice != 0) {
@@ -46,6 +62,15 @@ public class Main {
                 case 9:
                     printEventSummary();
                     break;
+                case 10:
+                    importGuests();
+                    break;
+                case 11:
+                    redoLastUndo();
+                    break;
+                case 12:
+                    chooseTaskOrder();
+                    break;
                 default:
                     System.out.println("Error: Please try again.");
             }
@@ -53,10 +78,48 @@ public class Main {
             choice = readMenuChoice();
         }
         
+        saveEvent();
         System.out.println("Goodbye!");
         kb.close();
     }
 
+    private static boolean openEvent(String directory) {
+        try {
+            state = EventStateStore.open(Paths.get(directory));
+        } catch (IOException | InvalidPathException e) {
+            System.out.println("Error: cannot open " + directory + ": " + e.getMessage());
+            return false;
+        }
+        guestListManager = state.getGuestListManager();
+        taskManager = state.getTaskManager();
+        selectedVenue = state.getSelectedVenue();
+        System.out.println("Loaded event from " + directory + " (" + guestListManager.getGuestCount() + " guests)");
+
+        Path venues = Paths.get(directory).resolve("venues.csv");
+        if (Files.exists(venues)) {
+            try {
+                venueCatalog = VenueCatalog.watch(venues);
+                System.out.println("Loaded " + venueCatalog.getSnapshot().getVenues().size() + " venues from " + venues);
+            } catch (IOException e) {
+                System.out.println("Error: cannot load venues: " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    private static void saveEvent() {
+        try {
+            // a fresh snapshot keeps the log short, so the next start is fast
+            state.checkpoint();
+            state.close();
+            if (venueCatalog != null) {
+                venueCatalog.close();
+            }
+        } catch (IOException e) {
+            System.out.println("Error: could not save event: " + e.getMessage());
+        }
+    }
+
     private static int readMenuChoice() {
         String line = kb.nextLine();
         if (line == null) return 0;
@@ -84,6 +147,9 @@ public class Main {
         System.out.println("7.Execute task");
         System.out.println("8.Undo task");
         System.out.println("9.Summary");
+        System.out.println("10.Import guests");
+        System.out.println("11.Redo task");
+        System.out.println("12.Task order");
         System.out.println("0.Exit");
         System.out.println("Choice: ");
     }
@@ -98,7 +164,7 @@ public class Main {
             }
 
             for (Guest guest : Generators.GenerateGuests(numGuests)) {
-                guestListManager.addGuest(guest);
+                state.addGuest(guest);
             }
 
             venueSelector = new VenueSelector(Generators.generateVenues());
@@ -108,6 +174,28 @@ public class Main {
         }
     }
 
+    private static void importGuests() {
+        System.out.print("CSV or JSONL file: ");
+        String fileName = kb.nextLine().trim();
+        if (fileName.isEmpty()) {
+            System.out.println("File required.");
+            return;
+        }
+        try {
+            GuestImporter.Report report = new GuestImporter().importGuests(Paths.get(fileName), guestListManager);
+            System.out.println("Imported " + report.getImported() + " of " + report.getRows() + " rows ("
+                + Math.round(report.getRowsPerSecond()) + " rows/s), "
+                + report.getMalformed() + " malformed, " + report.getDuplicates() + " duplicates.");
+            if (!report.getMalformedLineNumbers().isEmpty()) {
+                System.out.println("Malformed lines: " + report.getMalformedLineNumbers());
+            }
+            // bulk imports bypass the log, so save them in a snapshot
+            state.checkpoint();
+        } catch (IOException | InvalidPathException e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+    }
+
     private static void addGuest() {
         System.out.print("Name: ");
         String guestName = kb.nextLine().trim();
@@ -119,18 +207,20 @@ public class Main {
             return;
         }
 
-        guestListManager.addGuest(new Guest(guestName, groupTag));
+        state.addGuest(new Guest(guestName, groupTag));
         System.out.println("Added " + guestName);
     }
 
     private static void removeGuest() {
         System.out.print("Name to remove: ");
         String guestName = kb.nextLine().trim();
-        System.out.println(guestListManager.removeGuest(guestName) ? "Removed" : "Not found");
+        System.out.println(state.removeGuest(guestName) ? "Removed" : "Not found");
     }
 
     private static void selectVenue() {
-        if (venueSelector == null) {
+        if (venueCatalog != null) {
+            venueSelector = venueCatalog.getSelector();
+        } else if (venueSelector == null) {
             venueSelector = new VenueSelector(Generators.generateVenues());
         }
         
@@ -144,12 +234,17 @@ public class Main {
         try {
             double budget = Double.parseDouble(kb.nextLine().trim());
             selectedVenue = venueSelector.selectVenue(budget, guestCount);
+            state.selectVenue(selectedVenue);
             
             if (selectedVenue != null) {
                 System.out.println("Selected: " + selectedVenue.getName() + 
                     " ($" + selectedVenue.getCost() + ", capacity " + selectedVenue.getCapacity() + ")");
             } else {
                 System.out.println("No venue fits.");
+                for (Venue v : venueSelector.nearestMisses(budget, guestCount, 3)) {
+                    System.out.println("  Closest: " + v.getName() +
+                        " ($" + v.getCost() + ", capacity " + v.getCapacity() + ")");
+                }
             }
         } catch (NumberFormatException e) {
             System.out.println("Invalid budget.");
@@ -162,23 +257,25 @@ public class Main {
             return;
         }
         
-        List<Guest> guests = guestListManager.getAllGuests();
-        if (guests.isEmpty()) {
+        if (guestListManager.getGuestCount() == 0) {
             System.out.println("No guests to seat.");
             return;
         }
         
         try {
-            Map<Integer, List<Guest>> seating = new SeatingPlanner(selectedVenue).generateSeating(guests);
+            // tables are printed as they are filled; the finished chart is cached for next time
+            Stream<Map.Entry<Integer, List<Guest>>> seating =
+                    seatingCache.streamSeating(guestListManager, selectedVenue);
             System.out.println("\nSeating for " + selectedVenue.getName() + ":");
-            for (Map.Entry<Integer, List<Guest>> entry : seating.entrySet()) {
+            seating.forEachOrdered(entry -> {
                 System.out.print("Table " + entry.getKey() + ": ");
-                List<String> seatedNames = new ArrayList<>();
+                String separator = "";
                 for (Guest guest : entry.getValue()) {
-                    seatedNames.add(guest.getName() + "(" + guest.getGroupTag() + ")");
+                    System.out.print(separator + guest.getName() + "(" + guest.getGroupTag() + ")");
+                    separator = ", ";
                 }
-                System.out.println(String.join(", ", seatedNames));
-            }
+                System.out.println();
+            });
         } catch (IllegalStateException e) {
             System.out.println("Error: " + e.getMessage());
         }
@@ -191,12 +288,42 @@ public class Main {
             System.out.println("Task cannot be empty.");
             return;
         }
-        taskManager.addTask(new Task(taskDescription));
+        System.out.print("Priority (blank for 0): ");
+        String priorityText = kb.nextLine().trim();
+        System.out.print("Deadline yyyy-mm-dd (blank for none): ");
+        String deadlineText = kb.nextLine().trim();
+        int priority;
+        LocalDate deadline;
+        try {
+            priority = priorityText.isEmpty() ? 0 : Integer.parseInt(priorityText);
+            deadline = deadlineText.isEmpty() ? null : LocalDate.parse(deadlineText);
+        } catch (NumberFormatException | DateTimeParseException e) {
+            System.out.println("Invalid priority or deadline.");
+            return;
+        }
+        state.addTask(new Task(taskDescription, priority, deadline));
         System.out.println("Added. Remaining: " + taskManager.remainingTaskCount());
     }
 
+    private static void chooseTaskOrder() {
+        System.out.println("Current: " + taskManager.getPolicy());
+        System.out.print("1.First added  2.Highest priority  3.Earliest deadline: ");
+        TaskManager.Policy[] policies = TaskManager.Policy.values();
+        try {
+            int choice = Integer.parseInt(kb.nextLine().trim());
+            if (choice < 1 || choice > policies.length) {
+                System.out.println("Invalid choice.");
+                return;
+            }
+            state.setTaskPolicy(policies[choice - 1]);
+            System.out.println("Tasks now run by " + taskManager.getPolicy());
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid choice.");
+        }
+    }
+
     private static void executeNextTask() {
-        Task task = taskManager.executeNextTask();
+        Task task = state.executeNextTask();
         if (task != null) {
             System.out.println("Executed: " + task.getDescription() + " (Remaining: " + taskManager.remainingTaskCount() + ")");
         } else {
@@ -205,7 +332,7 @@ public class Main {
     }
 
     private static void undoLastTask() {
-        Task task = taskManager.undoLastTask();
+        Task task = state.undoLastTask();
         if (task != null) {
             System.out.println("Undone: " + task.getDescription() + " (Remaining: " + taskManager.remainingTaskCount() + ")");
         } else {
@@ -213,19 +340,21 @@ public class Main {
         }
     }
 
+    private static void redoLastUndo() {
+        Task task = state.redoLastUndo();
+        if (task != null) {
+            System.out.println("Redone: " + task.getDescription());
+        } else {
+            System.out.println("Nothing to redo.");
+        }
+    }
+
     private static void printEventSummary() {
         System.out.println("\n=== Event Summary ===");
         
-        List<Guest> guests = guestListManager.getAllGuests();
         System.out.println("Guests: " + guestListManager.getGuestCount());
-        if (!guests.isEmpty()) {
-            Map<String, Integer> groups = new HashMap<>();
-            for (Guest guest : guests) {
-                groups.put(guest.getGroupTag(), groups.getOrDefault(guest.getGroupTag(), 0) + 1);
-            }
-            for (Map.Entry<String, Integer> entry : groups.entrySet()) {
-                System.out.println("  " + entry.getKey() + ": " + entry.getValue());
-            }
+        for (Map.Entry<String, Integer> entry : guestListManager.getGroupCounts().entrySet()) {
+            System.out.println("  " + entry.getKey() + ": " + entry.getValue());
         }
         
         System.out.println("Venue: " + (selectedVenue != null ? 
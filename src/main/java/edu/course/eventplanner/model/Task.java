@@ -1,7 +1,40 @@
 package edu.course.eventplanner.model;
 
+import java.time.LocalDate;
+import java.util.*;
+
 public class Task {
     private final String description;
-    public Task(String description) { this.description = description; }
+    // descriptions of the tasks that must be done before this one
+    private final List<String> dependencies;
+    private final int priority;
+    private final LocalDate deadline;
+    public Task(String description) { this(description, List.of()); }
+
+    /**
+     * @param dependencies descriptions of the tasks that must be done first
+     */
+    public Task(String description, Collection<String> dependencies) {
+        this(description, dependencies, 0, null);
+    }
+
+    /**
+     * @param priority how urgent the task is; higher runs first when scheduling by priority
+     * @param deadline the day the task must be done by, or null if there is none
+     */
+    public Task(String description, int priority, LocalDate deadline) {
+        this(description, List.of(), priority, deadline);
+    }
+
+    public Task(String description, Collection<String> dependencies, int priority, LocalDate deadline) {
+        this.description = description;
+        this.dependencies = List.copyOf(dependencies);
+        this.priority = priority;
+        this.deadline = deadline;
+    }
     public String getDescription() { return description; }
+    public List<String> getDependencies() { return dependencies; }
+    public int getPriority() { return priority; }
+    /** @return the deadline, or null if there is none */
+    public LocalDate getDeadline() { return deadline; }
 }
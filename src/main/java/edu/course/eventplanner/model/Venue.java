@@ -1,21 +1,90 @@
 package edu.course.eventplanner.model;
 
+import java.util.Arrays;
+import java.util.Objects;
+
 public class Venue {
     private final String name;
     private final double cost;
     private final int capacity;
     private final int tables;
     private final int seatsPerTable;
+    // seats at each table, or null when every table has seatsPerTable seats
+    private final int[] tableCapacities;
     public Venue(String name, double cost, int capacity, int tables, int seatsPerTable) {
         this.name = name;
         this.cost = cost;
         this.capacity = capacity;
         this.tables = tables;
         this.seatsPerTable = seatsPerTable;
+        this.tableCapacities = null;
+    }
+
+    /**
+     * Creates a venue whose tables have different numbers of seats.
+     * getSeatsPerTable() is then the size of the largest table.
+     *
+     * @param tableCapacities the seats at table 1, table 2, and so on
+     */
+    public Venue(String name, double cost, int capacity, int[] tableCapacities) {
+        this.name = name;
+        this.cost = cost;
+        this.capacity = capacity;
+        this.tables = tableCapacities.length;
+        this.seatsPerTable = Arrays.stream(tableCapacities).max().orElse(0);
+        this.tableCapacities = tableCapacities.clone();
     }
     public String getName() { return name; }
     public double getCost() { return cost; }
     public int getCapacity() { return capacity; }
     public int getTables() { return tables; }
     public int getSeatsPerTable() { return seatsPerTable; }
+
+    /**
+     * Get the number of seats at one table
+     * @param table the table number, from 1
+     * @return the table's seats, never negative
+     */
+    public int getTableCapacity(int table) {
+        Objects.checkIndex(table - 1, Math.max(0, tables));
+        return Math.max(0, tableCapacities == null ? seatsPerTable : tableCapacities[table - 1]);
+    }
+
+    /**
+     * Get the seats at every table
+     * @return a new array where element i is the seats at table i + 1
+     */
+    public int[] getTableCapacities() {
+        int[] seats = new int[Math.max(0, tables)];
+        for (int t = 1; t <= seats.length; t++) {
+            seats[t - 1] = getTableCapacity(t);
+        }
+        return seats;
+    }
+
+    /**
+     * Get the number of seats over all tables
+     */
+    public int getTotalSeats() {
+        int total = 0;
+        for (int t = 1; t <= tables; t++) {
+            total += getTableCapacity(t);
+        }
+        return total;
+    }
+
+    /**
+     * @return true if every table has getSeatsPerTable() seats
+     */
+    public boolean hasUniformTables() {
+        if (tableCapacities == null) {
+            return true;
+        }
+        for (int seats : tableCapacities) {
+            if (seats != seatsPerTable) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -0,0 +1,120 @@
+package edu.course.eventplanner.service;
+
+import edu.course.eventplanner.model.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Plans seating for many events at once, such as every wedding in a season.
+ * Each event runs {@link SeatingPlanner#generateSeating(List)} as its own task
+ * on a ForkJoinPool, and results are handed back in the order they finish.
+ * An event that fails, for example with "Not enough seats", is reported in
+ * its result and does not stop the rest of the batch.
+ */
+public class BatchSeatingService {
+
+    /**
+     * One event to plan: a venue and its guests.
+     */
+    public static class Request {
+        private final Venue venue;
+        private final List<Guest> guests;
+
+        public Request(Venue venue, List<Guest> guests) {
+            this.venue = venue;
+            this.guests = guests;
+        }
+
+        public Venue getVenue() { return venue; }
+        public List<Guest> getGuests() { return guests; }
+    }
+
+    /**
+     * The outcome of one event: either a seating or the error that stopped it.
+     */
+    public static class Result {
+        private final int index;
+        private final Request request;
+        private final Map<Integer, List<Guest>> seating;
+        private final RuntimeException error;
+
+        Result(int index, Request request, Map<Integer, List<Guest>> seating, RuntimeException error) {
+            this.index = index;
+            this.request = request;
+            this.seating = seating;
+            this.error = error;
+        }
+
+        /** Position of the request in the batch. */
+        public int getIndex() { return index; }
+        public Request getRequest() { return request; }
+        public boolean isSuccess() { return error == null; }
+        /** The seating, or null if planning failed. */
+        public Map<Integer, List<Guest>> getSeating() { return seating; }
+        /** Why planning failed, or null if it succeeded. */
+        public RuntimeException getError() { return error; }
+    }
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a service that runs on the common ForkJoinPool.
+     */
+    public BatchSeatingService() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public BatchSeatingService(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Plans every event in parallel and passes each result to the callback as
+     * soon as it is ready. The callback runs on the calling thread, one result
+     * at a time, so it needs no locking.
+     *
+     * @param requests the events to plan
+     * @param onResult called once per request, in completion order
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public void planAll(List<Request> requests, Consumer<Result> onResult) throws InterruptedException {
+        CompletionService<Result> done = new ExecutorCompletionService<>(pool);
+        int index = 0;
+        for (Request request : requests) {
+            int i = index++;
+            done.submit(() -> plan(i, request));
+        }
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                onResult.accept(done.take().get());
+            } catch (ExecutionException e) {
+                // plan() catches runtime failures itself, so only an Error gets here
+                throw new IllegalStateException("Seating task failed", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Plans every event in parallel and waits for all of them.
+     *
+     * @param requests the events to plan
+     * @return one result per request, in the same order as the requests
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public List<Result> planAll(List<Request> requests) throws InterruptedException {
+        Result[] results = new Result[requests.size()];
+        planAll(requests, r -> results[r.getIndex()] = r);
+        return Arrays.asList(results);
+    }
+
+    private static Result plan(int index, Request request) {
+        try {
+            Map<Integer, List<Guest>> seating = new SeatingPlanner(request.getVenue())
+                    .generateSeating(request.getGuests());
+            return new Result(index, request, seating, null);
+        } catch (RuntimeException e) {
+            return new Result(index, request, null, e);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package edu.course.eventplanner.service;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The dates one venue is booked, as a sorted set of non-overlapping date ranges.
+ *
+ * The ranges are kept in an immutable pair of sorted arrays (first day, day
+ * after the last day). Because ranges never overlap, the ends are sorted too,
+ * so checking a request is one binary search: only the last booking that
+ * starts before the request ends can overlap it. That check is O(log b) for b
+ * bookings and allocates nothing.
+ *
+ * Booking copies the arrays with the new range inserted and publishes them with
+ * a compare-and-set. If another thread booked or cancelled in between, the
+ * attempt is retried against its result, so two planners can never both get
+ * overlapping dates and nobody takes a lock. Dates are inclusive.
+ */
+public class BookingCalendar {
+    private static final class Bookings {
+        static final Bookings EMPTY = new Bookings(new long[0], new long[0]);
+
+        // epoch days: booking i covers starts[i] <= day < ends[i]
+        final long[] starts;
+        final long[] ends;
+
+        Bookings(long[] starts, long[] ends) {
+            this.starts = starts;
+            this.ends = ends;
+        }
+    }
+
+    private final AtomicReference<Bookings> bookings = new AtomicReference<>(Bookings.EMPTY);
+
+    /**
+     * @return true if no booking touches any day from first to last
+     * @throws IllegalArgumentException if last is before first
+     */
+    public boolean isAvailable(LocalDate first, LocalDate last) {
+        long start = first.toEpochDay();
+        long end = endOf(first, last);
+        Bookings b = bookings.get();
+        return overlapping(b, start, end) < 0;
+    }
+
+    /**
+     * Books the days from first to last if none of them is booked yet.
+     *
+     * @return true if this call booked them, false if some day was already taken
+     * @throws IllegalArgumentException if last is before first
+     */
+    public boolean book(LocalDate first, LocalDate last) {
+        long start = first.toEpochDay();
+        long end = endOf(first, last);
+        while (true) {
+            Bookings b = bookings.get();
+            if (overlapping(b, start, end) >= 0) {
+                return false;
+            }
+            int at = firstStartingAtOrAfter(b, end);
+            Bookings next = new Bookings(insert(b.starts, at, start), insert(b.ends, at, end));
+            if (bookings.compareAndSet(b, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Cancels a booking made with exactly these dates.
+     * @return true if there was such a booking
+     */
+    public boolean cancel(LocalDate first, LocalDate last) {
+        long start = first.toEpochDay();
+        long end = endOf(first, last);
+        while (true) {
+            Bookings b = bookings.get();
+            int i = overlapping(b, start, end);
+            if (i < 0 || b.starts[i] != start || b.ends[i] != end) {
+                return false;
+            }
+            Bookings next = new Bookings(remove(b.starts, i), remove(b.ends, i));
+            if (bookings.compareAndSet(b, next)) {
+                return true;
+            }
+        }
+    }
+
+    public int getBookingCount() {
+        return bookings.get().starts.length;
+    }
+
+    /**
+     * @return the index of the booking that overlaps [start, end), or -1 if none does
+     */
+    private static int overlapping(Bookings b, long start, long end) {
+        int i = firstStartingAtOrAfter(b, end) - 1;
+        return i >= 0 && b.ends[i] > start ? i : -1;
+    }
+
+    private static int firstStartingAtOrAfter(Bookings b, long day) {
+        int lo = 0;
+        int hi = b.starts.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (b.starts[mid] < day) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static long endOf(LocalDate first, LocalDate last) {
+        if (last.isBefore(first)) {
+            throw new IllegalArgumentException("Last day " + last + " is before first day " + first);
+        }
+        return last.toEpochDay() + 1;
+    }
+
+    private static long[] insert(long[] a, int at, long value) {
+        long[] result = new long[a.length + 1];
+        System.arraycopy(a, 0, result, 0, at);
+        result[at] = value;
+        System.arraycopy(a, at, result, at + 1, a.length - at);
+        return result;
+    }
+
+    private static long[] remove(long[] a, int at) {
+        long[] result = new long[a.length - 1];
+        System.arraycopy(a, 0, result, 0, at);
+        System.arraycopy(a, at + 1, result, at, a.length - at - 1);
+        return result;
+    }
+}
@@ -0,0 +1,286 @@
+package edu.course.eventplanner.service;
+
+import edu.course.eventplanner.model.Guest;
+import java.util.*;
+
+/**
+ * Memory-compact guest list for very large events.
+ * Keeps the same add/remove/find contract as {@link GuestListManager}, but
+ * stores guests column by column in primitive arrays instead of one object each:
+ *
+ *   - names are packed back to back in a single char arena
+ *   - group tags are dictionary-encoded, so each guest holds an int group id
+ *   - lookup by name uses an open-addressing int hash table over guest positions
+ *
+ * A removed guest is only marked dead; dead entries are squeezed out in one
+ * pass once they make up half of the store, so removal stays O(1) amortized.
+ * Guest objects are only created when a caller asks for one.
+ */
+public class CompactGuestStore {
+    private static final int DEAD = -1;
+
+    // name arena
+    private char[] chars = new char[256];
+    private int charsUsed;
+
+    // one column entry per position, live or dead, in insertion order
+    private int[] nameStart = new int[16];
+    private int[] nameLength = new int[16];
+    private int[] groupOf = new int[16];
+    private int positions;
+    private int deadCount;
+
+    // position + 1 for each occupied bucket, 0 for an empty one
+    private int[] table = new int[32];
+
+    // group tag dictionary
+    private final Map<String, Integer> groupIds = new HashMap<>();
+    private final List<String> groupTags = new ArrayList<>();
+    private int[] groupSizes = new int[4];
+
+    /**
+     * Adds a guest to the end of the list.
+     * A guest with the same name as an existing guest replaces it in place.
+     * @param guest the guest to add
+     */
+    public void addGuest(Guest guest) {
+        addGuest(guest.getName(), guest.getGroupTag());
+    }
+
+    public void addGuest(String name, String groupTag) {
+        int group = groupId(groupTag);
+        int pos = indexOf(name);
+        if (pos >= 0) {
+            groupSizes[groupOf[pos]]--;
+            groupOf[pos] = group;
+            groupSizes[group]++;
+            return;
+        }
+
+        if (positions == nameStart.length) {
+            int grown = positions * 2;
+            nameStart = Arrays.copyOf(nameStart, grown);
+            nameLength = Arrays.copyOf(nameLength, grown);
+            groupOf = Arrays.copyOf(groupOf, grown);
+        }
+        if (charsUsed + name.length() > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(chars.length * 2, charsUsed + name.length()));
+        }
+        name.getChars(0, name.length(), chars, charsUsed);
+        nameStart[positions] = charsUsed;
+        nameLength[positions] = name.length();
+        groupOf[positions] = group;
+        charsUsed += name.length();
+        groupSizes[group]++;
+
+        // keep the table at most half full, counting dead entries
+        if ((positions + 1) * 2 > table.length) {
+            rehash(table.length * 2);
+        }
+        insertIntoTable(positions, name.hashCode());
+        positions++;
+    }
+
+    public boolean removeGuest(String guestName) {
+        int pos = indexOf(guestName);
+        if (pos < 0) {
+            return false;
+        }
+        groupSizes[groupOf[pos]]--;
+        groupOf[pos] = DEAD;
+        deadCount++;
+        if (deadCount > 16 && deadCount * 2 > positions) {
+            compact();
+        }
+        return true;
+    }
+
+    public Guest findGuest(String guestName) {
+        int pos = indexOf(guestName);
+        return pos < 0 ? null : new Guest(guestName, groupTags.get(groupOf[pos]));
+    }
+
+    public int getGuestCount() {
+        return positions - deadCount;
+    }
+
+    /**
+     * Get all guests in the order they were added.
+     * Creates a Guest object for each one, so prefer the index accessors for large stores.
+     * @return a new list holding every guest
+     */
+    public List<Guest> getAllGuests() {
+        compact();
+        List<Guest> result = new ArrayList<>(positions);
+        for (int i = 0; i < positions; i++) {
+            result.add(new Guest(getName(i), getGroupTag(i)));
+        }
+        return result;
+    }
+
+    /**
+     * Get the number of guests in each group
+     * @return a new map from groupTag to guest count; groups with no guests are absent
+     */
+    public Map<String, Integer> getGroupCounts() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int g = 0; g < groupTags.size(); g++) {
+            if (groupSizes[g] > 0) {
+                counts.put(groupTags.get(g), groupSizes[g]);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Get the name of the guest at the given position in insertion order
+     * @param index 0 to getGuestCount() - 1
+     */
+    public String getName(int index) {
+        compact();
+        Objects.checkIndex(index, positions);
+        return new String(chars, nameStart[index], nameLength[index]);
+    }
+
+    /**
+     * Get the groupTag of the guest at the given position in insertion order
+     * @param index 0 to getGuestCount() - 1
+     */
+    public String getGroupTag(int index) {
+        return groupTags.get(getGroupId(index));
+    }
+
+    /**
+     * Get the dictionary id of the group of the guest at the given position
+     * @param index 0 to getGuestCount() - 1
+     */
+    public int getGroupId(int index) {
+        compact();
+        Objects.checkIndex(index, positions);
+        return groupOf[index];
+    }
+
+    /**
+     * Number of distinct group tags ever seen; ids run from 0 to this value - 1
+     */
+    public int getGroupIdCount() {
+        return groupTags.size();
+    }
+
+    public String getGroupTagById(int groupId) {
+        return groupTags.get(groupId);
+    }
+
+    public int getGroupSize(int groupId) {
+        return groupSizes[groupId];
+    }
+
+    /**
+     * Group id column for planners in this package. Entries 0 to
+     * getGuestCount() - 1 are the live guests in insertion order.
+     */
+    int[] groupIdColumn() {
+        compact();
+        return groupOf;
+    }
+
+    private int groupId(String groupTag) {
+        Integer id = groupIds.get(groupTag);
+        if (id == null) {
+            id = groupTags.size();
+            groupIds.put(groupTag, id);
+            groupTags.add(groupTag);
+            if (id == groupSizes.length) {
+                groupSizes = Arrays.copyOf(groupSizes, id * 2);
+            }
+        }
+        return id;
+    }
+
+    private int indexOf(String name) {
+        int mask = table.length - 1;
+        for (int b = spread(name.hashCode()) & mask; table[b] != 0; b = (b + 1) & mask) {
+            int pos = table[b] - 1;
+            if (groupOf[pos] != DEAD && nameEquals(pos, name)) {
+                return pos;
+            }
+        }
+        return -1;
+    }
+
+    private boolean nameEquals(int pos, String name) {
+        int len = nameLength[pos];
+        if (len != name.length()) {
+            return false;
+        }
+        int start = nameStart[pos];
+        for (int i = 0; i < len; i++) {
+            if (chars[start + i] != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int hashAt(int pos) {
+        // same value as String.hashCode, computed straight from the arena
+        int h = 0;
+        int start = nameStart[pos];
+        for (int i = 0; i < nameLength[pos]; i++) {
+            h = 31 * h + chars[start + i];
+        }
+        return h;
+    }
+
+    private void insertIntoTable(int pos, int hash) {
+        int mask = table.length - 1;
+        int b = spread(hash) & mask;
+        while (table[b] != 0) {
+            b = (b + 1) & mask;
+        }
+        table[b] = pos + 1;
+    }
+
+    private void rehash(int capacity) {
+        table = new int[capacity];
+        for (int pos = 0; pos < positions; pos++) {
+            if (groupOf[pos] != DEAD) {
+                insertIntoTable(pos, hashAt(pos));
+            }
+        }
+    }
+
+    /**
+     * Squeezes dead entries out of every column and the name arena.
+     */
+    private void compact() {
+        if (deadCount == 0) {
+            return;
+        }
+        int live = 0;
+        int used = 0;
+        for (int pos = 0; pos < positions; pos++) {
+            if (groupOf[pos] == DEAD) {
+                continue;
+            }
+            System.arraycopy(chars, nameStart[pos], chars, used, nameLength[pos]);
+            nameStart[live] = used;
+            nameLength[live] = nameLength[pos];
+            groupOf[live] = groupOf[pos];
+            used += nameLength[pos];
+            live++;
+        }
+        positions = live;
+        charsUsed = used;
+        deadCount = 0;
+        int capacity = 32;
+        while (capacity < positions * 2) {
+            capacity *= 2;
+        }
+        rehash(capacity);
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,70 @@
+package edu.course.eventplanner.service;
+
+import edu.course.eventplanner.model.Guest;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread-safe guest registry for ingesting RSVPs from several feeds at once.
+ * Keeps the same add/remove/find contract as {@link GuestListManager}.
+ *
+ * Guests are indexed by name in a ConcurrentHashMap, which only locks the
+ * bin being updated, so writers on different names do not block each other.
+ * Insertion order is kept in a lock-free ConcurrentSkipListMap keyed by an
+ * arrival sequence number. Reads never take a lock.
+ */
+public class ConcurrentGuestListManager {
+    private static final class Entry {
+        final Guest guest;
+        final long seq;
+        Entry(Guest guest, long seq) { this.guest = guest; this.seq = seq; }
+    }
+
+    private final ConcurrentHashMap<String, Entry> guestByName = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, Guest> guestsInOrder = new ConcurrentSkipListMap<>();
+    private final AtomicLong nextSeq = new AtomicLong();
+
+    /**
+     * Adds a guest to the end of the list.
+     * A guest with the same name as an existing guest replaces it in place.
+     * @param guest the guest to add
+     */
+    public void addGuest(Guest guest) {
+        // compute runs atomically per key, so both indexes change together
+        guestByName.compute(guest.getName(), (name, old) -> {
+            long seq = old != null ? old.seq : nextSeq.getAndIncrement();
+            guestsInOrder.put(seq, guest);
+            return new Entry(guest, seq);
+        });
+    }
+
+    public boolean removeGuest(String guestName) {
+        boolean[] removed = new boolean[1];
+        guestByName.computeIfPresent(guestName, (name, old) -> {
+            guestsInOrder.remove(old.seq);
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
+    }
+
+    public Guest findGuest(String guestName) {
+        Entry entry = guestByName.get(guestName);
+        return entry == null ? null : entry.guest;
+    }
+
+    public int getGuestCount() {
+        return guestByName.size();
+    }
+
+    /**
+     * Get all guests in the order they were added.
+     * The traversal is weakly consistent: it never blocks writers and may or
+     * may not reflect changes made while it runs.
+     * @return a new list holding the guests
+     */
+    public List<Guest> getAllGuests() {
+        return new ArrayList<>(guestsInOrder.values());
+    }
+}
@@ -0,0 +1,170 @@
+package edu.course.eventplanner.service;
+
+import edu.course.eventplanner.model.Task;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Thread-safe task list for several workers pulling tasks at the same time.
+ * Keeps the FIFO add/execute/undo contract of {@link TaskManager}.
+ *
+ * Because execute always takes the oldest upcoming task and undo always gives
+ * back the newest executed one, the executed tasks followed by the upcoming
+ * ones form a single list, and the only thing execute and undo change is where
+ * the boundary between the two lies. Tasks are appended to a lock-free linked
+ * list, and the boundary is an immutable cursor (last executed node, how many
+ * steps back can still be undone) published with a compare-and-set.
+ * Executing moves the cursor one node forward and undo moves it one node back,
+ * each in a single CAS: a task is claimed by exactly one caller, and an undone
+ * task is at the head of the queue at the same instant it leaves the history.
+ * Nothing takes a lock.
+ *
+ * Unlike TaskManager, undo returns the task to the queue, since a worker on
+ * another device may need to do it again. The executed history keeps the
+ * most recent {@code undoDepth} tasks; older ones are unlinked so they can be
+ * garbage collected.
+ */
+public class ConcurrentTaskManager {
+    private static final class Node {
+        final Task task;
+        final AtomicReference<Node> next = new AtomicReference<>();
+        // set before the node is linked; cleared once no undo can reach past this node
+        Node prev;
+        // position in the list: the first task is 1, the starting sentinel 0
+        long index;
+
+        Node(Task task) {
+            this.task = task;
+        }
+    }
+
+    private static final class Cursor {
+        // the last executed task, or the sentinel if none
+        final Node last;
+        // how many executed tasks, ending at last, can be undone
+        final int undoable;
+        // the node undoable steps back from last; the cursor never goes behind it
+        final Node floor;
+
+        Cursor(Node last, int undoable, Node floor) {
+            this.last = last;
+            this.undoable = undoable;
+            this.floor = floor;
+        }
+    }
+
+    private final AtomicReference<Node> tail;
+    private final AtomicReference<Cursor> cursor;
+    private final int undoDepth;
+
+    public ConcurrentTaskManager() {
+        this(TaskManager.DEFAULT_UNDO_DEPTH);
+    }
+
+    /**
+     * @param undoDepth how many executed tasks can be undone; older ones are forgotten
+     */
+    public ConcurrentTaskManager(int undoDepth) {
+        if (undoDepth <= 0) {
+            throw new IllegalArgumentException("History depth must be positive");
+        }
+        this.undoDepth = undoDepth;
+        Node sentinel = new Node(null);
+        this.tail = new AtomicReference<>(sentinel);
+        this.cursor = new AtomicReference<>(new Cursor(sentinel, 0, sentinel));
+    }
+
+    public void addTask(Task task) {
+        Node node = new Node(task);
+        while (true) {
+            Node last = lastNode();
+            node.prev = last;
+            node.index = last.index + 1;
+            if (last.next.compareAndSet(null, node)) {
+                tail.compareAndSet(last, node);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Claim and execute the next task
+     * @return the task, which no other caller gets, or null if there are no upcoming tasks
+     */
+    public Task executeNextTask() {
+        while (true) {
+            Cursor c = cursor.get();
+            Node next = c.last.next.get();
+            if (next == null) {
+                return null;
+            }
+            Cursor moved = c.undoable < undoDepth
+                    ? new Cursor(next, c.undoable + 1, c.floor)
+                    : new Cursor(next, c.undoable, c.floor.next.get());
+            if (cursor.compareAndSet(c, moved)) {
+                if (moved.floor != c.floor) {
+                    // no cursor can reach behind the new floor, so let older tasks go
+                    moved.floor.prev = null;
+                }
+                return next.task;
+            }
+        }
+    }
+
+    /***
+     * Undo the last task that was executed, putting it back at the head of the queue
+     * @return the task that was undone, or null if there are no completed tasks
+     */
+    public Task undoLastTask() {
+        while (true) {
+            Cursor c = cursor.get();
+            if (c.undoable == 0) {
+                return null;
+            }
+            // prev may only be cleared after this cursor is replaced, in which case the CAS fails
+            if (cursor.compareAndSet(c, new Cursor(c.last.prev, c.undoable - 1, c.floor))) {
+                return c.last.task;
+            }
+        }
+    }
+
+    /**
+     * Get the number of tasks that have not yet been executed
+     * @return the number of remaining tasks
+     */
+    public int remainingTaskCount() {
+        // cursor first: the end of the list read afterwards is never behind it
+        Cursor c = cursor.get();
+        return (int) (lastNode().index - c.last.index);
+    }
+
+    /**
+     * Get the executed tasks that can still be undone
+     * @return a new list of them, oldest first
+     */
+    public List<Task> getCompletedTasks() {
+        Cursor c = cursor.get();
+        List<Task> tasks = new ArrayList<>(c.undoable);
+        Node node = c.last;
+        // node is null only if the history was trimmed while walking it
+        for (int i = 0; i < c.undoable && node != null; i++) {
+            tasks.add(node.task);
+            node = node.prev;
+        }
+        Collections.reverse(tasks);
+        return tasks;
+    }
+
+    /**
+     * The real end of the list, finishing any add that linked its node but
+     * has not yet moved the tail.
+     */
+    private Node lastNode() {
+        Node last = tail.get();
+        for (Node next = last.next.get(); next != null; next = last.next.get()) {
+            tail.compareAndSet(last, next);
+            last = next;
+        }
+        return last;
+    }
+}
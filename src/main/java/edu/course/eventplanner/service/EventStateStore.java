@@ -0,0 +1,654 @@
+package edu.course.eventplanner.service;
+
+import edu.course.eventplanner.model.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.CRC32;
+
+/**
+ * Holds the guest list, selected venue and task list of one event, and can
+ * keep them on disk so they survive a restart.
+ *
+ * Every change goes through this class. In durable mode each change is also
+ * appended to a write-ahead log ({@code events.log}); {@link #checkpoint()}
+ * writes a compact binary snapshot ({@code snapshot.bin}) and empties the log.
+ * Opening a directory loads the snapshot and replays the log written after it.
+ *
+ * Log writes are buffered and forced to disk in batches: after a set number
+ * of changes, or by a background flush after a short delay, whichever comes
+ * first. A crash can lose at most that last unsynced batch. A record cut off
+ * by a crash is detected by its checksum and dropped on recovery.
+ *
+ * Changes made directly on the managers returned by the getters are not logged.
+ */
+public class EventStateStore implements Closeable {
+    public static final String SNAPSHOT_FILE = "snapshot.bin";
+    public static final String LOG_FILE = "events.log";
+    public static final int DEFAULT_SYNC_EVERY = 256;
+    public static final long DEFAULT_SYNC_INTERVAL_MILLIS = 50;
+
+    private static final int SNAPSHOT_MAGIC = 0x45565331; // "EVS1"
+
+    // stored instead of an epoch day for a task without a deadline
+    private static final long NO_DEADLINE = Long.MIN_VALUE;
+
+    private static final byte ADD_GUEST = 1;
+    private static final byte REMOVE_GUEST = 2;
+    private static final byte ADD_TASK = 3;
+    private static final byte EXECUTE_TASK = 4;
+    private static final byte UNDO_TASK = 5;
+    private static final byte SELECT_VENUE = 6;
+    private static final byte REDO_TASK = 7;
+    private static final byte REPRIORITIZE_TASK = 8;
+    private static final byte RESCHEDULE_TASK = 9;
+    private static final byte REMOVE_TASK = 10;
+    private static final byte SET_TASK_POLICY = 11;
+
+    private final GuestListManager guestListManager = new GuestListManager();
+    private final TaskManager taskManager = new TaskManager();
+    private Venue selectedVenue;
+
+    // Durable mode only; all null/zero for an in-memory store
+    private final Path directory;
+    private final int syncEvery;
+    private FileChannel log;
+    private ScheduledExecutorService flusher;
+    private ByteBuffer pending = ByteBuffer.allocate(64 * 1024);
+    private int pendingRecords;
+    private int recordStart;
+    private long nextSeq = 1;
+
+    /**
+     * Creates a store that keeps everything in memory only.
+     */
+    public EventStateStore() {
+        this.directory = null;
+        this.syncEvery = 0;
+    }
+
+    private EventStateStore(Path directory, int syncEvery) {
+        this.directory = directory;
+        this.syncEvery = syncEvery;
+    }
+
+    /**
+     * Opens the event saved in a directory, or starts a new one there.
+     * Uses the default sync batch size and interval.
+     */
+    public static EventStateStore open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SYNC_EVERY, DEFAULT_SYNC_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Opens the event saved in a directory, or starts a new one there.
+     *
+     * @param directory where the snapshot and log live; created if missing
+     * @param syncEvery force the log to disk after this many changes
+     * @param syncIntervalMillis force buffered changes to disk after at most this long
+     * @return the recovered store
+     * @throws IOException if the files cannot be read or created
+     */
+    public static EventStateStore open(Path directory, int syncEvery, long syncIntervalMillis) throws IOException {
+        if (syncEvery <= 0 || syncIntervalMillis <= 0) {
+            throw new IllegalArgumentException("Sync batch size and interval must be positive");
+        }
+        Files.createDirectories(directory);
+        EventStateStore store = new EventStateStore(directory, syncEvery);
+        store.recover();
+        store.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "event-log-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+        store.flusher.scheduleWithFixedDelay(store::backgroundSync,
+                syncIntervalMillis, syncIntervalMillis, TimeUnit.MILLISECONDS);
+        return store;
+    }
+
+    public GuestListManager getGuestListManager() {
+        return guestListManager;
+    }
+
+    public TaskManager getTaskManager() {
+        return taskManager;
+    }
+
+    public Venue getSelectedVenue() {
+        return selectedVenue;
+    }
+
+    public synchronized void addGuest(Guest guest) {
+        guestListManager.addGuest(guest);
+        ByteBuffer record = begin(ADD_GUEST);
+        record = putString(record, guest.getName());
+        record = putString(record, guest.getGroupTag());
+        end(record);
+    }
+
+    public synchronized boolean removeGuest(String guestName) {
+        boolean removed = guestListManager.removeGuest(guestName);
+        if (removed) {
+            end(putString(begin(REMOVE_GUEST), guestName));
+        }
+        return removed;
+    }
+
+    /**
+     * @return the task's id, for changing or removing it later; ids survive a restart
+     */
+    public synchronized long addTask(Task task) {
+        long id = taskManager.addTask(task);
+        if (directory == null) {
+            return id;
+        }
+        ByteBuffer record = putString(begin(ADD_TASK), task.getDescription());
+        record = ensure(record, 16);
+        record.putInt(task.getPriority());
+        record.putLong(fromDate(task.getDeadline()));
+        record.putInt(task.getDependencies().size());
+        for (String dependency : task.getDependencies()) {
+            record = putString(record, dependency);
+        }
+        end(record);
+        return id;
+    }
+
+    public synchronized boolean reprioritize(long id, int priority) {
+        boolean changed = taskManager.reprioritize(id, priority);
+        if (changed && directory != null) {
+            ByteBuffer record = ensure(begin(REPRIORITIZE_TASK), 12);
+            record.putLong(id);
+            record.putInt(priority);
+            end(record);
+        }
+        return changed;
+    }
+
+    /**
+     * @param deadline the new deadline, or null for none
+     */
+    public synchronized boolean reschedule(long id, LocalDate deadline) {
+        boolean changed = taskManager.reschedule(id, deadline);
+        if (changed && directory != null) {
+            ByteBuffer record = ensure(begin(RESCHEDULE_TASK), 16);
+            record.putLong(id);
+            record.putLong(deadline == null ? NO_DEADLINE : deadline.toEpochDay());
+            end(record);
+        }
+        return changed;
+    }
+
+    public synchronized boolean removeTask(long id) {
+        boolean removed = taskManager.removeTask(id);
+        if (removed && directory != null) {
+            ByteBuffer record = ensure(begin(REMOVE_TASK), 8);
+            record.putLong(id);
+            end(record);
+        }
+        return removed;
+    }
+
+    /**
+     * Changes the order tasks are executed in; see {@link TaskManager#setPolicy}.
+     */
+    public synchronized void setTaskPolicy(TaskManager.Policy policy) {
+        taskManager.setPolicy(policy);
+        if (directory != null) {
+            ByteBuffer record = ensure(begin(SET_TASK_POLICY), 1);
+            record.put((byte) policy.ordinal());
+            end(record);
+        }
+    }
+
+    public synchronized Task executeNextTask() {
+        Task task = taskManager.executeNextTask();
+        if (task != null) {
+            end(begin(EXECUTE_TASK));
+        }
+        return task;
+    }
+
+    public synchronized Task undoLastTask() {
+        Task task = taskManager.undoLastTask();
+        if (task != null) {
+            end(begin(UNDO_TASK));
+        }
+        return task;
+    }
+
+    public synchronized Task redoLastUndo() {
+        Task task = taskManager.redoLastUndo();
+        if (task != null) {
+            end(begin(REDO_TASK));
+        }
+        return task;
+    }
+
+    /**
+     * Records the venue chosen for the event; null clears the choice.
+     */
+    public synchronized void selectVenue(Venue venue) {
+        selectedVenue = venue;
+        if (directory == null) {
+            return;
+        }
+        ByteBuffer record = begin(SELECT_VENUE);
+        record = ensure(record, 1);
+        record.put((byte) (venue == null ? 0 : 1));
+        if (venue != null) {
+            record = putString(record, venue.getName());
+            record = ensure(record, 20);
+            record.putDouble(venue.getCost());
+            record.putInt(venue.getCapacity());
+            record.putInt(venue.getTables());
+            record.putInt(venue.getSeatsPerTable());
+            record = ensure(record, 1);
+            record.put((byte) (venue.hasUniformTables() ? 0 : 1));
+            if (!venue.hasUniformTables()) {
+                int[] seats = venue.getTableCapacities();
+                record = ensure(record, 4 * seats.length);
+                for (int n : seats) {
+                    record.putInt(n);
+                }
+            }
+        }
+        end(record);
+    }
+
+    /**
+     * Forces every buffered change to disk.
+     */
+    public synchronized void sync() throws IOException {
+        if (log == null || pendingRecords == 0) {
+            return;
+        }
+        pending.flip();
+        while (pending.hasRemaining()) {
+            log.write(pending);
+        }
+        pending.clear();
+        pendingRecords = 0;
+        log.force(false);
+    }
+
+    /**
+     * Writes a snapshot of the whole state and empties the log.
+     * Also captures changes made directly on the managers, such as a bulk import.
+     */
+    public synchronized void checkpoint() throws IOException {
+        if (directory == null) {
+            return;
+        }
+        sync();
+        Path temp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+            writeSnapshot(out, nextSeq - 1);
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(temp, directory.resolve(SNAPSHOT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // Records up to nextSeq - 1 are in the snapshot; recovery skips them even if this truncate is lost
+        log.truncate(0);
+        log.force(true);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (log == null) {
+            return;
+        }
+        flusher.shutdownNow();
+        sync();
+        log.close();
+        log = null;
+    }
+
+    private synchronized void backgroundSync() {
+        try {
+            sync();
+        } catch (IOException e) {
+            // the next explicit sync, checkpoint or close reports it
+        }
+    }
+
+    // ---- log records: [int length][int crc32][long seq][byte op][fields] ----
+
+    private ByteBuffer begin(byte op) {
+        if (directory == null) {
+            return null;
+        }
+        ByteBuffer record = ensure(pending, 17);
+        recordStart = record.position();
+        // length and checksum are filled in by end()
+        record.position(recordStart + 8);
+        record.putLong(nextSeq++);
+        record.put(op);
+        return record;
+    }
+
+    private void end(ByteBuffer record) {
+        if (record == null) {
+            return;
+        }
+        pending = record;
+        int length = record.position() - recordStart - 8;
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), recordStart + 8, length);
+        record.putInt(recordStart, length);
+        record.putInt(recordStart + 4, (int) crc.getValue());
+        pendingRecords++;
+        if (pendingRecords >= syncEvery) {
+            try {
+                sync();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private ByteBuffer putString(ByteBuffer record, String s) {
+        if (record == null) {
+            return null;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        record = ensure(record, 4 + bytes.length);
+        record.putInt(bytes.length);
+        record.put(bytes);
+        return record;
+    }
+
+    private ByteBuffer ensure(ByteBuffer buffer, int bytes) {
+        if (buffer == null || buffer.remaining() >= bytes) {
+            return buffer;
+        }
+        ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+        buffer.flip();
+        grown.put(buffer);
+        if (buffer == pending) {
+            pending = grown;
+        }
+        return grown;
+    }
+
+    // ---- recovery ----
+
+    private void recover() throws IOException {
+        long snapshotSeq = 0;
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        if (Files.exists(snapshot)) {
+            try (DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(Files.newInputStream(snapshot), 1 << 16))) {
+                snapshotSeq = readSnapshot(in);
+            }
+        }
+        nextSeq = snapshotSeq + 1;
+
+        log = FileChannel.open(directory.resolve(LOG_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long validEnd = replay(snapshotSeq);
+        if (validEnd < log.size()) {
+            // drop a record torn by a crash so new records follow the last good one
+            log.truncate(validEnd);
+            log.force(true);
+        }
+        log.position(validEnd);
+    }
+
+    /**
+     * Applies every intact log record newer than the snapshot.
+     * @return the file offset just past the last intact record
+     */
+    private long replay(long snapshotSeq) throws IOException {
+        long size = log.size();
+        if (size == 0) {
+            return 0;
+        }
+        ByteBuffer data = log.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        CRC32 crc = new CRC32();
+        while (data.remaining() >= 8) {
+            int start = data.position();
+            int length = data.getInt();
+            int checksum = data.getInt();
+            if (length < 9 || length > data.remaining()) {
+                data.position(start);
+                break;
+            }
+            crc.reset();
+            ByteBuffer body = data.slice(data.position(), length);
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                data.position(start);
+                break;
+            }
+            data.position(data.position() + length);
+            long seq = body.getLong();
+            if (seq > snapshotSeq) {
+                apply(body.get(), body);
+                nextSeq = seq + 1;
+            }
+        }
+        return data.position();
+    }
+
+    private void apply(byte op, ByteBuffer body) {
+        switch (op) {
+            case ADD_GUEST -> guestListManager.addGuest(new Guest(getString(body), getString(body)));
+            case REMOVE_GUEST -> guestListManager.removeGuest(getString(body));
+            case ADD_TASK -> taskManager.addTask(getTask(body));
+            case EXECUTE_TASK -> taskManager.executeNextTask();
+            case UNDO_TASK -> taskManager.undoLastTask();
+            case REDO_TASK -> taskManager.redoLastUndo();
+            case REPRIORITIZE_TASK -> taskManager.reprioritize(body.getLong(), body.getInt());
+            case RESCHEDULE_TASK -> taskManager.reschedule(body.getLong(), toDate(body.getLong()));
+            case REMOVE_TASK -> taskManager.removeTask(body.getLong());
+            case SET_TASK_POLICY -> taskManager.setPolicy(TaskManager.Policy.values()[body.get()]);
+            case SELECT_VENUE -> selectedVenue = body.get() == 0 ? null : getVenue(body);
+            default -> throw new IllegalStateException("Unknown log record type " + op);
+        }
+    }
+
+    private static Task getTask(ByteBuffer body) {
+        String description = getString(body);
+        int priority = body.getInt();
+        long deadline = body.getLong();
+        List<String> dependencies = new ArrayList<>();
+        for (int i = body.getInt(); i > 0; i--) {
+            dependencies.add(getString(body));
+        }
+        return new Task(description, dependencies, priority, toDate(deadline));
+    }
+
+    private static LocalDate toDate(long epochDay) {
+        return epochDay == NO_DEADLINE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    private static long fromDate(LocalDate date) {
+        return date == null ? NO_DEADLINE : date.toEpochDay();
+    }
+
+    private static Venue getVenue(ByteBuffer body) {
+        String name = getString(body);
+        double cost = body.getDouble();
+        int capacity = body.getInt();
+        int tables = body.getInt();
+        int seatsPerTable = body.getInt();
+        if (body.get() == 0) {
+            return new Venue(name, cost, capacity, tables, seatsPerTable);
+        }
+        int[] seats = new int[tables];
+        for (int t = 0; t < tables; t++) {
+            seats[t] = body.getInt();
+        }
+        return new Venue(name, cost, capacity, seats);
+    }
+
+    private static String getString(ByteBuffer body) {
+        byte[] bytes = new byte[body.getInt()];
+        body.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // ---- snapshot ----
+
+    private void writeSnapshot(DataOutputStream out, long lastSeq) throws IOException {
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeLong(lastSeq);
+
+        List<Guest> guests = guestListManager.getAllGuests();
+        // group tags are written once and referenced by index
+        Map<String, Integer> tagIds = new HashMap<>();
+        List<String> tags = new ArrayList<>();
+        for (Guest g : guests) {
+            if (tagIds.putIfAbsent(g.getGroupTag(), tags.size()) == null) {
+                tags.add(g.getGroupTag());
+            }
+        }
+        writeStrings(out, tags);
+        out.writeInt(guests.size());
+        for (Guest g : guests) {
+            writeString(out, g.getName());
+            out.writeInt(tagIds.get(g.getGroupTag()));
+        }
+
+        out.writeBoolean(selectedVenue != null);
+        if (selectedVenue != null) {
+            writeString(out, selectedVenue.getName());
+            out.writeDouble(selectedVenue.getCost());
+            out.writeInt(selectedVenue.getCapacity());
+            out.writeInt(selectedVenue.getTables());
+            out.writeInt(selectedVenue.getSeatsPerTable());
+            out.writeBoolean(!selectedVenue.hasUniformTables());
+            if (!selectedVenue.hasUniformTables()) {
+                for (int seats : selectedVenue.getTableCapacities()) {
+                    out.writeInt(seats);
+                }
+            }
+        }
+
+        out.writeByte(taskManager.getPolicy().ordinal());
+        out.writeLong(taskManager.nextTaskId());
+        List<TaskHeap.Entry> upcoming = taskManager.upcomingTasks();
+        out.writeInt(upcoming.size());
+        for (TaskHeap.Entry e : upcoming) {
+            // the entry's priority and deadline, which may have been changed since the task was added
+            out.writeLong(e.id);
+            writeTask(out, e.task, e.priority, e.deadline);
+        }
+        writeTasks(out, taskManager.completedTasks());
+        writeTasks(out, taskManager.undoneTasks());
+    }
+
+    /**
+     * Loads a snapshot into this store.
+     * @return the sequence number of the last log record it contains
+     */
+    private long readSnapshot(DataInputStream in) throws IOException {
+        if (in.readInt() != SNAPSHOT_MAGIC) {
+            throw new IOException("Not an event snapshot: " + directory.resolve(SNAPSHOT_FILE));
+        }
+        long lastSeq = in.readLong();
+
+        List<String> tags = readStrings(in);
+        int guestCount = in.readInt();
+        for (int i = 0; i < guestCount; i++) {
+            String name = readString(in);
+            guestListManager.addGuest(new Guest(name, tags.get(in.readInt())));
+        }
+
+        if (in.readBoolean()) {
+            String name = readString(in);
+            double cost = in.readDouble();
+            int capacity = in.readInt();
+            int tables = in.readInt();
+            int seatsPerTable = in.readInt();
+            if (in.readBoolean()) {
+                int[] seats = new int[tables];
+                for (int t = 0; t < tables; t++) {
+                    seats[t] = in.readInt();
+                }
+                selectedVenue = new Venue(name, cost, capacity, seats);
+            } else {
+                selectedVenue = new Venue(name, cost, capacity, tables, seatsPerTable);
+            }
+        }
+
+        taskManager.setPolicy(TaskManager.Policy.values()[in.readByte()]);
+        long nextTaskId = in.readLong();
+        List<TaskHeap.Entry> upcoming = new ArrayList<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            long id = in.readLong();
+            upcoming.add(new TaskHeap.Entry(id, readTask(in)));
+        }
+        List<Task> completed = readTasks(in);
+        List<Task> undone = readTasks(in);
+        taskManager.restore(nextTaskId, upcoming, completed, undone);
+        return lastSeq;
+    }
+
+    private static void writeTasks(DataOutputStream out, List<Task> tasks) throws IOException {
+        out.writeInt(tasks.size());
+        for (Task t : tasks) {
+            writeTask(out, t, t.getPriority(), t.getDeadline());
+        }
+    }
+
+    private static void writeTask(DataOutputStream out, Task t, int priority, LocalDate deadline) throws IOException {
+        writeString(out, t.getDescription());
+        out.writeInt(priority);
+        out.writeLong(fromDate(deadline));
+        writeStrings(out, t.getDependencies());
+    }
+
+    private static List<Task> readTasks(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(readTask(in));
+        }
+        return tasks;
+    }
+
+    private static Task readTask(DataInputStream in) throws IOException {
+        String description = readString(in);
+        int priority = in.readInt();
+        long deadline = in.readLong();
+        return new Task(description, readStrings(in), priority, toDate(deadline));
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> strings) throws IOException {
+        out.writeInt(strings.size());
+        for (String s : strings) {
+            writeString(out, s);
+        }
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<String> strings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            strings.add(readString(in));
+        }
+        return strings;
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
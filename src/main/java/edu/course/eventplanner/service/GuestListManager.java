@@ -4,32 +4,181 @@ import edu.course.eventplanner.model.Guest;
 import java.util.*;
 
 public class GuestListManager {
-    private final LinkedList<Guest> guests = new LinkedList<>();
-    private final Map<String, Guest> guestByName = new HashMap<>();
+    private static final class Entry {
+        Guest guest;
+        final long seq;
+        Entry(Guest guest, long seq) { this.guest = guest; this.seq = seq; }
+    }
+
+    // Hash index by name for O(1) find; the entry's sequence number locates
+    // the guest in the ordered list below.
+    private final Map<String, Entry> guests = new HashMap<>();
+    // RSVP order as a persistent tree, so snapshot() is O(1) and add/remove are O(log n).
+    private GuestListSnapshot.Node ordered;
+    private Object edit = new Object();
+    private long nextSeq;
+    private long version;
+    private GuestListSnapshot lastSnapshot = GuestListSnapshot.EMPTY;
+    // Per-groupTag index kept in step with the master list, so group counts
+    // and members never need a scan over every guest. Members are keyed by
+    // sequence number, so a guest moved to another group keeps their place in line.
+    private final Map<String, TreeMap<Long, Guest>> guestsByGroup = new HashMap<>();
+    private final GuestNameIndex nameIndex = new GuestNameIndex();
 
+    /**
+     * Adds a guest to the end of the list.
+     * A guest with the same name as an existing guest replaces it in place.
+     * @param guest the guest to add
+     */
     public void addGuest(Guest guest) {
-        guests.add(guest);
-        guestByName.put(guest.getName(), guest);
+        Entry entry = guests.get(guest.getName());
+        Guest previous = null;
+        long seq;
+        if (entry == null) {
+            seq = nextSeq++;
+            guests.put(guest.getName(), new Entry(guest, seq));
+            ordered = GuestListSnapshot.append(ordered, seq, guest, edit);
+            nameIndex.add(guest.getName());
+        } else {
+            seq = entry.seq;
+            previous = entry.guest;
+            entry.guest = guest;
+            ordered = GuestListSnapshot.replace(ordered, seq, guest, edit);
+        }
+        version++;
+        if (previous != null && !Objects.equals(previous.getGroupTag(), guest.getGroupTag())) {
+            unindexGroup(previous, seq);
+        }
+        guestsByGroup.computeIfAbsent(guest.getGroupTag(), k -> new TreeMap<>()).put(seq, guest);
+    }
+
+    /**
+     * Adds each guest in order, as if by addGuest
+     * @param batch the guests to add
+     */
+    public void addGuests(Collection<Guest> batch) {
+        for (Guest guest : batch) {
+            addGuest(guest);
+        }
     }
 
     public boolean removeGuest(String guestName) {
-        Guest guest = guestByName.remove(guestName);
-        if (guest != null) {
-            guests.remove(guest);
+        Entry entry = guests.remove(guestName);
+        if (entry != null) {
+            ordered = GuestListSnapshot.remove(ordered, entry.seq, edit);
+            version++;
+            unindexGroup(entry.guest, entry.seq);
+            nameIndex.remove(guestName);
             return true;
         }
         return false;
     }
 
+    private void unindexGroup(Guest guest, long seq) {
+        Map<Long, Guest> members = guestsByGroup.get(guest.getGroupTag());
+        members.remove(seq);
+        if (members.isEmpty()) {
+            guestsByGroup.remove(guest.getGroupTag());
+        }
+    }
+
     public Guest findGuest(String guestName) {
-        return guestByName.get(guestName);
+        Entry entry = guests.get(guestName);
+        return entry == null ? null : entry.guest;
+    }
+
+    /**
+     * Find guests whose name starts with the given text, ignoring case
+     * @param prefix the partial name typed at check-in
+     * @param k the maximum number of guests to return
+     * @return up to k guests in alphabetical order of name
+     */
+    public List<Guest> searchByPrefix(String prefix, int k) {
+        return toGuests(nameIndex.findByPrefix(prefix, k));
+    }
+
+    /**
+     * Find guests whose name is within maxEdits typos of the query, ignoring case
+     * @param query the name as typed
+     * @param maxEdits the largest number of inserted, deleted or changed letters to allow
+     * @param k the maximum number of guests to return
+     * @return up to k guests, closest match first
+     */
+    public List<Guest> searchSimilar(String query, int maxEdits, int k) {
+        return toGuests(nameIndex.findSimilar(query, maxEdits, k));
+    }
+
+    private List<Guest> toGuests(List<String> names) {
+        List<Guest> result = new ArrayList<>(names.size());
+        for (String name : names) {
+            result.add(findGuest(name));
+        }
+        return result;
     }
 
     public int getGuestCount() {
         return guests.size();
     }
 
+    /**
+     * Get all guests in the order they were added
+     * @return an unmodifiable list of the guests at this moment; same as snapshot()
+     */
     public List<Guest> getAllGuests() {
-        return guests;
+        return snapshot();
+    }
+
+    /**
+     * Get a consistent, read-only copy of the guest list in O(1).
+     * It keeps its contents while this manager goes on changing, and shares
+     * all unchanged structure with the live list instead of copying it.
+     * Take it on the thread that updates the manager; it can then be read from any thread.
+     * @return the guests at this moment, in the order they were added
+     */
+    public GuestListSnapshot snapshot() {
+        if (lastSnapshot.getVersion() != version) {
+            lastSnapshot = new GuestListSnapshot(ordered, version);
+            // nodes reachable from the snapshot must not be changed in place any more
+            edit = new Object();
+        }
+        return lastSnapshot;
+    }
+
+    /**
+     * Get the modification count, which goes up on every add or remove
+     * @return the version a snapshot taken now would have
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Get the number of guests in each group
+     * @return a new map from groupTag to guest count; groups with no guests are absent
+     */
+    public Map<String, Integer> getGroupCounts() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (Map.Entry<String, TreeMap<Long, Guest>> e : guestsByGroup.entrySet()) {
+            counts.put(e.getKey(), e.getValue().size());
+        }
+        return counts;
+    }
+
+    /**
+     * Get the guests with the given groupTag in the order they were added
+     * @param groupTag the group to look up
+     * @return a new list of the group's guests, empty if the group is unknown
+     */
+    public List<Guest> getGuestsInGroup(String groupTag) {
+        Map<Long, Guest> members = guestsByGroup.get(groupTag);
+        return members == null ? new ArrayList<>() : new ArrayList<>(members.values());
+    }
+
+    /**
+     * Read-only view of the group index for planners in this package.
+     * Each group's members are keyed by sequence number, so they iterate in list order.
+     */
+    Map<String, ? extends SortedMap<Long, Guest>> groupIndex() {
+        return Collections.unmodifiableMap(guestsByGroup);
     }
 }
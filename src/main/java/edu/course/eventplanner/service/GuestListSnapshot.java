@@ -0,0 +1,199 @@
+package edu.course.eventplanner.service;
+
+import edu.course.eventplanner.model.Guest;
+import java.util.*;
+
+/**
+ * An immutable, versioned view of a guest list, in insertion order.
+ * Taking one is O(1) and it never changes afterwards, however the
+ * {@link GuestListManager} it came from is modified, so it can be handed to
+ * readers such as the seating planner without copying.
+ *
+ * Backed by a persistent treap keyed by arrival sequence number, with subtree
+ * sizes for O(log n) get(i). An update copies only the O(log n) nodes on its
+ * path and shares the rest with older versions. Nodes created since the last
+ * snapshot are not visible to any reader yet, so the manager updates those in
+ * place instead of copying them again.
+ */
+public final class GuestListSnapshot extends AbstractList<Guest> {
+    static final GuestListSnapshot EMPTY = new GuestListSnapshot(null, 0);
+
+    static final class Node {
+        final long key;
+        final int priority;
+        Guest guest;
+        int size;
+        Node left;
+        Node right;
+        // the edit that created this node; only that edit may change it in place
+        Object owner;
+
+        Node(long key, Guest guest, Object owner) {
+            this.key = key;
+            this.priority = priorityOf(key);
+            this.guest = guest;
+            this.size = 1;
+            this.owner = owner;
+        }
+
+        private Node(Node other, Object owner) {
+            this.key = other.key;
+            this.priority = other.priority;
+            this.guest = other.guest;
+            this.size = other.size;
+            this.left = other.left;
+            this.right = other.right;
+            this.owner = owner;
+        }
+    }
+
+    private final Node root;
+    private final long version;
+
+    GuestListSnapshot(Node root, long version) {
+        this.root = root;
+        this.version = version;
+    }
+
+    /**
+     * The modification count of the manager when this snapshot was taken.
+     * Two snapshots of the same manager with the same version hold the same guests.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public int size() {
+        return sizeOf(root);
+    }
+
+    @Override
+    public Guest get(int index) {
+        Objects.checkIndex(index, size());
+        Node node = root;
+        while (true) {
+            int leftSize = sizeOf(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.guest;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    @Override
+    public Iterator<Guest> iterator() {
+        // in-order walk with an explicit stack: O(1) amortized per guest
+        return new Iterator<>() {
+            private final Deque<Node> stack = new ArrayDeque<>();
+            { pushLeft(root); }
+
+            private void pushLeft(Node node) {
+                for (; node != null; node = node.left) {
+                    stack.push(node);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !stack.isEmpty();
+            }
+
+            @Override
+            public Guest next() {
+                if (stack.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node node = stack.pop();
+                pushLeft(node.right);
+                return node.guest;
+            }
+        };
+    }
+
+    // ---- persistent treap operations, used by GuestListManager ----
+
+    /**
+     * Appends a guest whose key is larger than every key in the tree.
+     */
+    static Node append(Node node, long key, Guest guest, Object edit) {
+        if (node == null) {
+            return new Node(key, guest, edit);
+        }
+        Node fresh = new Node(key, guest, edit);
+        if (fresh.priority > node.priority) {
+            // every existing key is smaller, so the whole tree becomes the left child
+            fresh.left = node;
+            fresh.size = node.size + 1;
+            return fresh;
+        }
+        Node n = editable(node, edit);
+        n.right = append(n.right, key, guest, edit);
+        n.size++;
+        return n;
+    }
+
+    static Node replace(Node node, long key, Guest guest, Object edit) {
+        Node n = editable(node, edit);
+        if (key < n.key) {
+            n.left = replace(n.left, key, guest, edit);
+        } else if (key > n.key) {
+            n.right = replace(n.right, key, guest, edit);
+        } else {
+            n.guest = guest;
+        }
+        return n;
+    }
+
+    static Node remove(Node node, long key, Object edit) {
+        if (key == node.key) {
+            return merge(node.left, node.right, edit);
+        }
+        Node n = editable(node, edit);
+        if (key < n.key) {
+            n.left = remove(n.left, key, edit);
+        } else {
+            n.right = remove(n.right, key, edit);
+        }
+        n.size--;
+        return n;
+    }
+
+    private static Node merge(Node a, Node b, Object edit) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            Node n = editable(a, edit);
+            n.right = merge(n.right, b, edit);
+            n.size = 1 + sizeOf(n.left) + sizeOf(n.right);
+            return n;
+        }
+        Node n = editable(b, edit);
+        n.left = merge(a, n.left, edit);
+        n.size = 1 + sizeOf(n.left) + sizeOf(n.right);
+        return n;
+    }
+
+    private static Node editable(Node node, Object edit) {
+        return node.owner == edit ? node : new Node(node, edit);
+    }
+
+    private static int sizeOf(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int priorityOf(long key) {
+        // hash of the key instead of a random number generator: same spread, no shared state
+        key = (key ^ (key >>> 33)) * 0xff51afd7ed558ccdL;
+        key = (key ^ (key >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return (int) (key ^ (key >>> 33));
+    }
+}
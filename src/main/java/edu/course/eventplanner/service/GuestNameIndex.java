@@ -0,0 +1,252 @@
+package edu.course.eventplanner.service;
+
+import java.util.*;
+
+/**
+ * Name search index for check-in: prefix lookups and typo-tolerant lookups.
+ *
+ * Names are stored in a trie keyed by their lower-case form. Each node keeps
+ * its children in a sorted char array (binary searched) instead of a map,
+ * which keeps the trie compact and makes results come out in alphabetical order.
+ */
+public class GuestNameIndex {
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private static final class Node {
+        char[] keys = NO_KEYS;
+        Node[] children = NO_CHILDREN;
+        int childCount;
+        // original spellings of the names that end here; null if none
+        List<String> names;
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, 0, childCount, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node addChild(char c) {
+            int i = Arrays.binarySearch(keys, 0, childCount, c);
+            if (i >= 0) {
+                return children[i];
+            }
+            int at = -i - 1;
+            if (childCount == keys.length) {
+                int grown = Math.max(2, childCount * 2);
+                keys = Arrays.copyOf(keys, grown);
+                children = Arrays.copyOf(children, grown);
+            }
+            System.arraycopy(keys, at, keys, at + 1, childCount - at);
+            System.arraycopy(children, at, children, at + 1, childCount - at);
+            Node node = new Node();
+            keys[at] = c;
+            children[at] = node;
+            childCount++;
+            return node;
+        }
+
+        void removeChild(char c) {
+            int i = Arrays.binarySearch(keys, 0, childCount, c);
+            if (i < 0) {
+                return;
+            }
+            System.arraycopy(keys, i + 1, keys, i, childCount - i - 1);
+            System.arraycopy(children, i + 1, children, i, childCount - i - 1);
+            childCount--;
+            children[childCount] = null;
+        }
+
+        boolean isEmpty() {
+            return childCount == 0 && names == null;
+        }
+    }
+
+    private final Node root = new Node();
+    private int size;
+
+    /**
+     * Adds a name to the index. Adding a name that is already present does nothing.
+     * @param name the guest name
+     */
+    public void add(String name) {
+        Node node = root;
+        String key = normalize(name);
+        for (int i = 0; i < key.length(); i++) {
+            node = node.addChild(key.charAt(i));
+        }
+        if (node.names == null) {
+            node.names = new ArrayList<>(1);
+        }
+        if (!node.names.contains(name)) {
+            node.names.add(name);
+            size++;
+        }
+    }
+
+    /**
+     * Removes a name from the index and prunes any branch left empty.
+     * @param name the guest name
+     * @return true if the name was in the index
+     */
+    public boolean remove(String name) {
+        String key = normalize(name);
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].child(key.charAt(i));
+            if (path[i + 1] == null) {
+                return false;
+            }
+        }
+        Node end = path[key.length()];
+        if (end.names == null || !end.names.remove(name)) {
+            return false;
+        }
+        if (end.names.isEmpty()) {
+            end.names = null;
+        }
+        for (int i = key.length(); i > 0 && path[i].isEmpty(); i--) {
+            path[i - 1].removeChild(key.charAt(i - 1));
+        }
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds names that start with the given prefix, ignoring case.
+     * Only the first k matches are visited, so the cost does not depend on
+     * how many names share the prefix.
+     * @param prefix the typed prefix
+     * @param k the maximum number of names to return
+     * @return up to k matching names in alphabetical order
+     */
+    public List<String> findByPrefix(String prefix, int k) {
+        List<String> result = new ArrayList<>();
+        if (k <= 0) {
+            return result;
+        }
+        Node node = root;
+        String key = normalize(prefix);
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        if (node != null) {
+            collect(node, k, result);
+        }
+        return result;
+    }
+
+    private void collect(Node node, int k, List<String> result) {
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(node);
+        while (!stack.isEmpty() && result.size() < k) {
+            Node n = stack.pop();
+            if (n.names != null) {
+                for (String name : n.names) {
+                    if (result.size() == k) {
+                        return;
+                    }
+                    result.add(name);
+                }
+            }
+            // push in reverse so the smallest key is visited first
+            for (int i = n.childCount - 1; i >= 0; i--) {
+                stack.push(n.children[i]);
+            }
+        }
+    }
+
+    /**
+     * Finds names within maxEdits insertions, deletions or substitutions of the
+     * query, ignoring case. Walks the trie with one Levenshtein row per node and
+     * skips any branch whose row is already over the limit.
+     * @param query the typed name
+     * @param maxEdits the largest edit distance to accept
+     * @param k the maximum number of names to return
+     * @return up to k names, closest first, ties broken alphabetically
+     */
+    public List<String> findSimilar(String query, int maxEdits, int k) {
+        List<String> result = new ArrayList<>();
+        if (k <= 0 || maxEdits < 0) {
+            return result;
+        }
+        String key = normalize(query);
+        int[] firstRow = new int[key.length() + 1];
+        for (int i = 0; i <= key.length(); i++) {
+            firstRow[i] = i;
+        }
+
+        // max-heap on (distance, name) holding the best k seen so far
+        Comparator<Match> order = Comparator.comparingInt((Match m) -> m.distance)
+                .thenComparing(m -> m.name);
+        PriorityQueue<Match> best = new PriorityQueue<>(order.reversed());
+        int[] limit = {maxEdits};
+        addMatches(root, firstRow, k, best, order, limit);
+        for (int i = 0; i < root.childCount; i++) {
+            search(root.children[i], root.keys[i], key, firstRow, k, best, order, limit);
+        }
+
+        while (!best.isEmpty()) {
+            result.add(best.poll().name);
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    private static final class Match {
+        final String name;
+        final int distance;
+        Match(String name, int distance) { this.name = name; this.distance = distance; }
+    }
+
+    private void search(Node node, char c, String key, int[] previousRow, int k,
+                        PriorityQueue<Match> best, Comparator<Match> order, int[] limit) {
+        int columns = key.length() + 1;
+        int[] row = new int[columns];
+        row[0] = previousRow[0] + 1;
+        int rowMin = row[0];
+        for (int i = 1; i < columns; i++) {
+            int insert = row[i - 1] + 1;
+            int delete = previousRow[i] + 1;
+            int replace = previousRow[i - 1] + (key.charAt(i - 1) == c ? 0 : 1);
+            row[i] = Math.min(insert, Math.min(delete, replace));
+            rowMin = Math.min(rowMin, row[i]);
+        }
+        if (rowMin > limit[0]) {
+            return;
+        }
+        addMatches(node, row, k, best, order, limit);
+        for (int i = 0; i < node.childCount; i++) {
+            search(node.children[i], node.keys[i], key, row, k, best, order, limit);
+        }
+    }
+
+    private void addMatches(Node node, int[] row, int k, PriorityQueue<Match> best,
+                            Comparator<Match> order, int[] limit) {
+        int distance = row[row.length - 1];
+        if (node.names == null || distance > limit[0]) {
+            return;
+        }
+        for (String name : node.names) {
+            Match m = new Match(name, distance);
+            if (best.size() < k) {
+                best.add(m);
+            } else if (order.compare(m, best.peek()) < 0) {
+                best.poll();
+                best.add(m);
+            }
+        }
+        // once k matches are held, nothing further than the worst of them can get in
+        if (best.size() == k) {
+            limit[0] = Math.min(limit[0], best.peek().distance);
+        }
+    }
+
+    private static String normalize(String s) {
+        return s.toLowerCase(Locale.ROOT);
+    }
+}
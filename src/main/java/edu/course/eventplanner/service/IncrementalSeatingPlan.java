@@ -0,0 +1,193 @@
+package edu.course.eventplanner.service;
+
+import edu.course.eventplanner.model.*;
+import java.util.*;
+
+/**
+ * A seating plan for one venue that is kept up to date as guests come and go,
+ * instead of re-running {@link SeatingPlanner#generateSeating(List)} after every change.
+ *
+ * Starts from the planner's arrangement. A new guest joins a table where their
+ * group already sits if one has a free seat, otherwise the table with the most
+ * free seats (an empty one if there is any, so the group can grow there).
+ * A removed guest just frees their seat. Nobody else is ever moved, so each
+ * update touches one table and costs O(log t + tables the group sits at),
+ * whatever the number of guests.
+ */
+public class IncrementalSeatingPlan {
+    private final Venue venue;
+    // seats at each table, index 0 unused
+    private final int[] seats;
+    // index 0 unused so table numbers start at 1
+    private final List<LinkedHashMap<String, Guest>> tables;
+    private final Map<String, Integer> tableOfGuest = new HashMap<>();
+    // groupTag -> table -> number of the group's guests at that table
+    private final Map<String, Map<Integer, Integer>> groupTables = new HashMap<>();
+    // tables ordered by free seats (most first), then by number
+    private final TreeSet<Integer> tablesByFreeSeats;
+
+    /**
+     * Creates a plan for the venue, seating the given guests with {@link SeatingPlanner}.
+     * Guests are keyed by name, so a name listed twice is seated once: as with
+     * {@link GuestListManager#addGuest}, the later entry replaces the earlier one in place.
+     *
+     * @param venue the venue whose tables are used
+     * @param guests the guests to seat first; may be empty
+     * @throws IllegalStateException if there is insufficient capacity
+     */
+    public IncrementalSeatingPlan(Venue venue, List<Guest> guests) {
+        this.venue = venue;
+        int tableCount = Math.max(0, venue.getTables());
+        this.seats = new int[tableCount + 1];
+        System.arraycopy(venue.getTableCapacities(), 0, seats, 1, tableCount);
+        tables = new ArrayList<>(tableCount + 1);
+        for (int t = 0; t <= tableCount; t++) {
+            tables.add(new LinkedHashMap<>());
+        }
+        tablesByFreeSeats = new TreeSet<>(Comparator
+                .comparingInt((Integer t) -> -freeSeats(t))
+                .thenComparingInt(t -> t));
+        Map<String, Guest> byName = new LinkedHashMap<>();
+        for (Guest g : guests) {
+            byName.put(g.getName(), g);
+        }
+        Map<Integer, List<Guest>> seating = new SeatingPlanner(venue).generateSeating(new ArrayList<>(byName.values()));
+        for (Map.Entry<Integer, List<Guest>> e : seating.entrySet()) {
+            for (Guest g : e.getValue()) {
+                place(g, e.getKey());
+            }
+        }
+        for (int t = 1; t <= tableCount; t++) {
+            if (seats[t] > 0) {
+                tablesByFreeSeats.add(t);
+            }
+        }
+    }
+
+    public Venue getVenue() {
+        return venue;
+    }
+
+    /**
+     * Seats a new guest without moving anyone else.
+     * A guest with the same name as a seated guest replaces them.
+     *
+     * @param guest the guest to seat
+     * @return the numbers of the tables that changed
+     * @throws IllegalStateException if every seat is taken
+     */
+    public Set<Integer> addGuest(Guest guest) {
+        Set<Integer> changed = new TreeSet<>();
+        Integer current = tableOfGuest.get(guest.getName());
+        if (current != null) {
+            Guest seated = tables.get(current).get(guest.getName());
+            if (Objects.equals(seated.getGroupTag(), guest.getGroupTag())) {
+                // same group: keep the seat
+                tables.get(current).put(guest.getName(), guest);
+                changed.add(current);
+                return changed;
+            }
+            changed.addAll(removeGuest(guest.getName()));
+        }
+        int table = chooseTable(guest.getGroupTag());
+        tablesByFreeSeats.remove(table);
+        place(guest, table);
+        tablesByFreeSeats.add(table);
+        changed.add(table);
+        return changed;
+    }
+
+    /**
+     * Frees a guest's seat without moving anyone else.
+     *
+     * @param guestName the guest to remove
+     * @return the number of the table that changed, or an empty set if the guest is not seated
+     */
+    public Set<Integer> removeGuest(String guestName) {
+        Integer table = tableOfGuest.remove(guestName);
+        if (table == null) {
+            return new TreeSet<>();
+        }
+        tablesByFreeSeats.remove(table);
+        Guest guest = tables.get(table).remove(guestName);
+        tablesByFreeSeats.add(table);
+
+        Map<Integer, Integer> counts = groupTables.get(guest.getGroupTag());
+        if (counts.merge(table, -1, Integer::sum) == 0) {
+            counts.remove(table);
+            if (counts.isEmpty()) {
+                groupTables.remove(guest.getGroupTag());
+            }
+        }
+        return new TreeSet<>(Set.of(table));
+    }
+
+    /**
+     * Get the table a guest is seated at
+     * @return the table number, or 0 if the guest is not seated
+     */
+    public int getTableOf(String guestName) {
+        return tableOfGuest.getOrDefault(guestName, 0);
+    }
+
+    /**
+     * Get the guests at one table, in the order they were seated
+     * @param table the table number, from 1
+     * @return a new list of the table's guests
+     */
+    public List<Guest> getTable(int table) {
+        return new ArrayList<>(tables.get(table).values());
+    }
+
+    public int getGuestCount() {
+        return tableOfGuest.size();
+    }
+
+    /**
+     * Get the whole plan in the same shape as {@link SeatingPlanner#generateSeating(List)}
+     * @return a map from table number to the guests at that table
+     */
+    public Map<Integer, List<Guest>> getSeating() {
+        Map<Integer, List<Guest>> seating = new LinkedHashMap<>();
+        if (tableOfGuest.isEmpty()) {
+            return seating;
+        }
+        for (int t = 1; t < tables.size(); t++) {
+            seating.put(t, getTable(t));
+        }
+        return seating;
+    }
+
+    private int chooseTable(String groupTag) {
+        // the table with the most of the group that still has room
+        Map<Integer, Integer> counts = groupTables.get(groupTag);
+        int best = 0;
+        int bestCount = 0;
+        if (counts != null) {
+            for (Map.Entry<Integer, Integer> e : counts.entrySet()) {
+                int t = e.getKey();
+                if (freeSeats(t) > 0 && (e.getValue() > bestCount || (e.getValue() == bestCount && t < best))) {
+                    best = t;
+                    bestCount = e.getValue();
+                }
+            }
+        }
+        if (best != 0) {
+            return best;
+        }
+        if (tablesByFreeSeats.isEmpty() || freeSeats(tablesByFreeSeats.first()) == 0) {
+            throw new IllegalStateException("Not enough seats for all guests");
+        }
+        return tablesByFreeSeats.first();
+    }
+
+    private void place(Guest guest, int table) {
+        tables.get(table).put(guest.getName(), guest);
+        tableOfGuest.put(guest.getName(), table);
+        groupTables.computeIfAbsent(guest.getGroupTag(), k -> new HashMap<>()).merge(table, 1, Integer::sum);
+    }
+
+    private int freeSeats(int table) {
+        return seats[table] - tables.get(table).size();
+    }
+}
@@ -0,0 +1,219 @@
+package edu.course.eventplanner.service;
+
+import edu.course.eventplanner.model.*;
+import java.util.*;
+
+/**
+ * Allocation-light version of {@link SeatingPlanner#generateSeating(List)}.
+ * Produces exactly the same tables, as a flat array instead of a map of lists.
+ *
+ * Group tags become int ids and guests are counting-sorted into one int
+ * array by group. Groups are ordered with a bucket queue on group size: a
+ * counting sort by size, walked from the largest bucket down, each bucket in
+ * tag order. Only a group split across a table boundary goes back into the
+ * queue, at most once per table, so those few go into a small primitive heap
+ * instead. A run allocates a fixed handful of int arrays and no objects per
+ * guest, group or table; the guest-to-group column is reused between runs.
+ *
+ * Not thread-safe: use one engine per thread.
+ */
+public class PrimitiveSeatingEngine {
+    private final Venue venue;
+
+    // scratch space reused across runs
+    private final Map<String, Integer> groupIds = new HashMap<>();
+    private String[] tags = new String[16];
+    private int[] groupOf = new int[64];
+    private int[] rank = new int[16];
+
+    public PrimitiveSeatingEngine(Venue venue) {
+        this.venue = venue;
+    }
+
+    /**
+     * Assigns every guest to a table.
+     *
+     * @param guests the list of guests to be seated
+     * @return an array where element i is the table number (from 1) of guests.get(i),
+     *         or 0 if the venue has no usable tables
+     * @throws IllegalStateException if there is insufficient capacity
+     */
+    public int[] assignTables(List<Guest> guests) {
+        if (guests == null || guests.isEmpty()) {
+            return new int[0];
+        }
+        int guestCount = guests.size();
+        if (groupOf.length < guestCount) {
+            groupOf = new int[Math.max(guestCount, groupOf.length * 2)];
+        }
+
+        groupIds.clear();
+        int groupCount = 0;
+        int i = 0;
+        for (Guest g : guests) {
+            Integer id = groupIds.get(g.getGroupTag());
+            if (id == null) {
+                if (groupCount == tags.length) {
+                    tags = Arrays.copyOf(tags, groupCount * 2);
+                }
+                tags[groupCount] = g.getGroupTag();
+                id = groupCount++;
+                groupIds.put(g.getGroupTag(), id);
+            }
+            groupOf[i++] = id;
+        }
+
+        // rank of each group id in tag order, for the tie-break
+        String[] sorted = Arrays.copyOf(tags, groupCount);
+        Arrays.sort(sorted);
+        if (rank.length < groupCount) {
+            rank = new int[Math.max(groupCount, rank.length * 2)];
+        }
+        for (int g = 0; g < groupCount; g++) {
+            rank[g] = Arrays.binarySearch(sorted, tags[g]);
+        }
+        Arrays.fill(tags, 0, groupCount, null);
+
+        return assign(groupOf, guestCount, rank, groupCount, venue.getTableCapacities());
+    }
+
+    /**
+     * Core of the algorithm over primitive columns.
+     *
+     * @param groupOf group id of each guest, for indexes 0 to guestCount - 1
+     * @param rank position of each group's tag in sorted order; groups with no guests are ignored
+     * @param tableSeats seats at each table, table 1 first
+     * @return the table number (from 1) of each guest, 0 if there are no usable tables
+     */
+    static int[] assign(int[] groupOf, int guestCount, int[] rank, int groupCount, int[] tableSeats) {
+        int[] tableOfGuest = new int[guestCount];
+        int tableCount = tableSeats.length;
+        long totalSeats = 0;
+        for (int seats : tableSeats) {
+            totalSeats += seats;
+        }
+        if (guestCount == 0 || totalSeats <= 0) {
+            return tableOfGuest;
+        }
+        if (guestCount > totalSeats) {
+            throw new IllegalStateException("Not enough seats for all guests");
+        }
+
+        // Group sizes, and guest indexes counting-sorted by group (insertion order kept)
+        int[] size = new int[groupCount];
+        for (int i = 0; i < guestCount; i++) {
+            size[groupOf[i]]++;
+        }
+        int[] next = new int[groupCount];
+        for (int g = 0, start = 0; g < groupCount; g++) {
+            next[g] = start;
+            start += size[g];
+        }
+        int[] byGroup = new int[guestCount];
+        int[] fill = next.clone();
+        for (int i = 0; i < guestCount; i++) {
+            byGroup[fill[groupOf[i]]++] = i;
+        }
+
+        // Bucket queue: groups by size descending, then by tag, via counting sort
+        int[] groupByRank = new int[groupCount];
+        Arrays.fill(groupByRank, -1);
+        int maxSize = 0;
+        for (int g = 0; g < groupCount; g++) {
+            groupByRank[rank[g]] = g;
+            maxSize = Math.max(maxSize, size[g]);
+        }
+        int[] bucketStart = new int[maxSize + 2];
+        for (int g = 0; g < groupCount; g++) {
+            if (size[g] > 0) {
+                bucketStart[maxSize - size[g] + 1]++;
+            }
+        }
+        for (int b = 1; b < bucketStart.length; b++) {
+            bucketStart[b] += bucketStart[b - 1];
+        }
+        int queued = bucketStart[bucketStart.length - 1];
+        int[] queue = new int[queued];
+        for (int r = 0; r < groupCount; r++) {
+            int g = groupByRank[r];
+            if (g >= 0 && size[g] > 0) {
+                queue[bucketStart[maxSize - size[g]]++] = g;
+            }
+        }
+
+        // Groups split at a table boundary, keyed (larger size, then smaller rank) first
+        long[] heap = new long[tableCount];
+        int heapSize = 0;
+        int cursor = 0;
+        int[] remaining = size;
+
+        for (int table = 1; table <= tableCount; table++) {
+            int seatsLeft = tableSeats[table - 1];
+            while (seatsLeft > 0 && (cursor < queued || heapSize > 0)) {
+                int g;
+                if (heapSize > 0 && (cursor == queued || heap[0] < key(queue[cursor], remaining, rank))) {
+                    g = groupByRank[(int) heap[0]];
+                    heapSize = pop(heap, heapSize);
+                } else {
+                    g = queue[cursor++];
+                }
+                int seatCount = Math.min(seatsLeft, remaining[g]);
+                for (int s = 0; s < seatCount; s++) {
+                    tableOfGuest[byGroup[next[g]++]] = table;
+                }
+                seatsLeft -= seatCount;
+                remaining[g] -= seatCount;
+                if (remaining[g] > 0) {
+                    heapSize = push(heap, heapSize, key(g, remaining, rank));
+                }
+            }
+        }
+        return tableOfGuest;
+    }
+
+    /**
+     * Packs (-size, rank) into one long, so a smaller key means a larger group,
+     * then an earlier tag: the same order as SeatingPlanner's TreeSet.
+     */
+    private static long key(int g, int[] remaining, int[] rank) {
+        return ((long) -remaining[g] << 32) | rank[g];
+    }
+
+    private static int push(long[] heap, int heapSize, long key) {
+        int i = heapSize++;
+        heap[i] = key;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= heap[i]) {
+                break;
+            }
+            long t = heap[parent];
+            heap[parent] = heap[i];
+            heap[i] = t;
+            i = parent;
+        }
+        return heapSize;
+    }
+
+    private static int pop(long[] heap, int heapSize) {
+        heap[0] = heap[--heapSize];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (heap[i] <= heap[child]) {
+                break;
+            }
+            long t = heap[child];
+            heap[child] = heap[i];
+            heap[i] = t;
+            i = child;
+        }
+        return heapSize;
+    }
+}
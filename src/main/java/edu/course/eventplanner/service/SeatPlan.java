@@ -0,0 +1,217 @@
+package edu.course.eventplanner.service;
+
+import edu.course.eventplanner.model.*;
+import java.util.*;
+
+/**
+ * Seats guests at individual seats, not just tables, so a guest can be pinned
+ * to, say, table 1 seat 1 before everyone else is seated automatically.
+ *
+ * Each table's occupancy is a bitmap in one shared long array, with every table
+ * starting on a fresh word, so a free seat is found with a bit scan of one word
+ * per 64 seats. Guests are kept in a flat array with one slot per seat. A guest's
+ * seat is an int index into that array, so looking up, moving or freeing a seat
+ * is O(1). Each seat costs a guest reference and an int, and each table one
+ * long per 64 seats, on top of the name lookup.
+ *
+ * Tables and seats are numbered from 1. Not thread-safe.
+ */
+public class SeatPlan {
+    private final Venue venue;
+    // table t: bits from word wordStart[t], guests from slot seatStart[t]; index 0 unused
+    private final int[] wordStart;
+    private final int[] seatStart;
+    private final int[] tableOfSlot;
+    private final long[] occupied;
+    private final Guest[] guests;
+    private final Map<String, Integer> slotOf = new HashMap<>();
+
+    public SeatPlan(Venue venue) {
+        this.venue = venue;
+        int tableCount = Math.max(0, venue.getTables());
+        wordStart = new int[tableCount + 2];
+        seatStart = new int[tableCount + 2];
+        for (int t = 1; t <= tableCount; t++) {
+            int seats = venue.getTableCapacity(t);
+            wordStart[t + 1] = wordStart[t] + (seats + 63) / 64;
+            seatStart[t + 1] = seatStart[t] + seats;
+        }
+        occupied = new long[wordStart[tableCount + 1]];
+        guests = new Guest[seatStart[tableCount + 1]];
+        tableOfSlot = new int[guests.length];
+        for (int t = 1; t <= tableCount; t++) {
+            Arrays.fill(tableOfSlot, seatStart[t], seatStart[t + 1], t);
+        }
+    }
+
+    public Venue getVenue() {
+        return venue;
+    }
+
+    /**
+     * Reserves a seat for a guest. A guest who is already seated moves there.
+     *
+     * @throws IllegalArgumentException if the table or seat does not exist
+     * @throws IllegalStateException if someone else has the seat
+     */
+    public void pin(Guest guest, int table, int seat) {
+        int slot = slot(table, seat);
+        Guest current = guests[slot];
+        if (current != null && !current.getName().equals(guest.getName())) {
+            throw new IllegalStateException("Seat " + seat + " at table " + table + " is taken by " + current.getName());
+        }
+        unseat(guest.getName());
+        take(guest, slot);
+    }
+
+    /**
+     * Seats every guest who does not have a seat yet, around the seats already
+     * taken. Groups are kept together where possible, using
+     * {@link SeatingPlanner#generatePackedSeating(List)} on the free seats of
+     * each table, then each guest takes the first free seat at their table.
+     *
+     * @param guests the guests to seat; those already seated keep their seats,
+     *               and a name listed twice is seated once, as its first entry
+     * @throws IllegalStateException if there is insufficient capacity
+     */
+    public void autoSeat(List<Guest> guests) {
+        // only guests who still need a seat count towards the demand, each name once
+        Set<String> names = new HashSet<>();
+        List<Guest> unseated = new ArrayList<>();
+        for (Guest g : guests) {
+            if (!slotOf.containsKey(g.getName()) && names.add(g.getName())) {
+                unseated.add(g);
+            }
+        }
+        if (unseated.isEmpty()) {
+            return;
+        }
+        int tableCount = Math.max(0, venue.getTables());
+        int[] free = new int[tableCount];
+        for (int t = 1; t <= tableCount; t++) {
+            free[t - 1] = getFreeSeats(t);
+        }
+        Venue remaining = new Venue(venue.getName(), venue.getCost(), venue.getCapacity(), free);
+        Map<Integer, List<Guest>> tables = new SeatingPlanner(remaining).generatePackedSeating(unseated);
+        if (tables.isEmpty()) {
+            throw new IllegalStateException("Not enough seats for all guests");
+        }
+        for (Map.Entry<Integer, List<Guest>> e : tables.entrySet()) {
+            for (Guest g : e.getValue()) {
+                take(g, seatStart[e.getKey()] + nextFreeSeat(e.getKey()) - 1);
+            }
+        }
+    }
+
+    /**
+     * Moves a seated guest to another seat.
+     *
+     * @throws IllegalArgumentException if the guest is not seated or the seat does not exist
+     * @throws IllegalStateException if someone else has the seat
+     */
+    public void move(String guestName, int table, int seat) {
+        Integer from = slotOf.get(guestName);
+        if (from == null) {
+            throw new IllegalArgumentException("Guest is not seated: " + guestName);
+        }
+        pin(guests[from], table, seat);
+    }
+
+    /**
+     * Frees a guest's seat.
+     * @return true if the guest was seated
+     */
+    public boolean unseat(String guestName) {
+        Integer slot = slotOf.remove(guestName);
+        if (slot == null) {
+            return false;
+        }
+        guests[slot] = null;
+        int bit = bitOf(slot);
+        occupied[bit >>> 6] &= ~(1L << bit);
+        return true;
+    }
+
+    /**
+     * Get the table a guest sits at
+     * @return the table number, or 0 if the guest is not seated
+     */
+    public int getTable(String guestName) {
+        Integer slot = slotOf.get(guestName);
+        return slot == null ? 0 : tableOfSlot[slot];
+    }
+
+    /**
+     * Get the seat a guest sits in
+     * @return the seat number at their table, or 0 if the guest is not seated
+     */
+    public int getSeat(String guestName) {
+        Integer slot = slotOf.get(guestName);
+        return slot == null ? 0 : slot - seatStart[tableOfSlot[slot]] + 1;
+    }
+
+    /**
+     * @return the guest in a seat, or null if it is free
+     */
+    public Guest getGuestAt(int table, int seat) {
+        return guests[slot(table, seat)];
+    }
+
+    public int getFreeSeats(int table) {
+        checkTable(table);
+        int taken = 0;
+        for (int w = wordStart[table]; w < wordStart[table + 1]; w++) {
+            taken += Long.bitCount(occupied[w]);
+        }
+        return venue.getTableCapacity(table) - taken;
+    }
+
+    public int getGuestCount() {
+        return slotOf.size();
+    }
+
+    /**
+     * Get the lowest free seat at a table, by scanning its occupancy words
+     * @return the seat number, or 0 if the table is full
+     */
+    public int nextFreeSeat(int table) {
+        checkTable(table);
+        int seats = venue.getTableCapacity(table);
+        for (int w = wordStart[table]; w < wordStart[table + 1]; w++) {
+            long free = ~occupied[w];
+            if (free != 0) {
+                int seat = (w - wordStart[table]) * 64 + Long.numberOfTrailingZeros(free) + 1;
+                // bits past the last seat of the last word are never set, so check the bound
+                return seat <= seats ? seat : 0;
+            }
+        }
+        return 0;
+    }
+
+    private void take(Guest guest, int slot) {
+        guests[slot] = guest;
+        slotOf.put(guest.getName(), slot);
+        int bit = bitOf(slot);
+        occupied[bit >>> 6] |= 1L << bit;
+    }
+
+    // position of a seat slot in the occupancy bitmap
+    private int bitOf(int slot) {
+        int table = tableOfSlot[slot];
+        return wordStart[table] * 64 + (slot - seatStart[table]);
+    }
+
+    private int slot(int table, int seat) {
+        checkTable(table);
+        if (seat < 1 || seat > venue.getTableCapacity(table)) {
+            throw new IllegalArgumentException("No seat " + seat + " at table " + table);
+        }
+        return seatStart[table] + seat - 1;
+    }
+
+    private void checkTable(int table) {
+        if (table < 1 || table >= wordStart.length - 1) {
+            throw new IllegalArgumentException("No table " + table);
+        }
+    }
+}
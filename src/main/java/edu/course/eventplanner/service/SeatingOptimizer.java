@@ -0,0 +1,464 @@
+package edu.course.eventplanner.service;
+
+import edu.course.eventplanner.model.*;
+import java.util.*;
+
+/**
+ * Improves a seating plan under "keep together" and "keep apart" constraints.
+ *
+ * Starts from the greedy plan of {@link SeatingPlanner} and runs simulated
+ * annealing for a wall-clock budget. Each step picks a guest and a target
+ * table, half the time one where another member of their group sits, and
+ * either moves the guest to a free seat there or swaps them with a guest at
+ * that table. The objective is
+ *
+ *   (extra tables used by each group) + CONSTRAINT_WEIGHT * (broken constraints)
+ *
+ * and a move is scored from the change alone: a per-(group, table) head count
+ * tells whether a table gains or loses a group, and only the constraints of the
+ * moved guests are checked. No move ever rescans the whole plan.
+ */
+public class SeatingOptimizer {
+    public static final int CONSTRAINT_WEIGHT = 10;
+
+    private final Venue venue;
+    private final List<String[]> together = new ArrayList<>();
+    private final List<String[]> apart = new ArrayList<>();
+    private long seed = 42;
+
+    /**
+     * Outcome of one optimization run.
+     */
+    public static class Result {
+        private final Map<Integer, List<Guest>> seating;
+        private final int objective;
+        private final int initialObjective;
+        private final int splitGroups;
+        private final int violations;
+        private final long movesEvaluated;
+
+        Result(Map<Integer, List<Guest>> seating, int objective, int initialObjective,
+               int splitGroups, int violations, long movesEvaluated) {
+            this.seating = seating;
+            this.objective = objective;
+            this.initialObjective = initialObjective;
+            this.splitGroups = splitGroups;
+            this.violations = violations;
+            this.movesEvaluated = movesEvaluated;
+        }
+
+        /** The seating, in the same shape as SeatingPlanner.generateSeating. */
+        public Map<Integer, List<Guest>> getSeating() { return seating; }
+        /** Objective of the returned plan; lower is better. */
+        public int getObjective() { return objective; }
+        /** Objective of the greedy plan the search started from. */
+        public int getInitialObjective() { return initialObjective; }
+        /** Number of groups seated at more than one table. */
+        public int getSplitGroups() { return splitGroups; }
+        /** Number of together/apart constraints the plan breaks. */
+        public int getViolations() { return violations; }
+        public long getMovesEvaluated() { return movesEvaluated; }
+    }
+
+    public SeatingOptimizer(Venue venue) {
+        this.venue = venue;
+    }
+
+    /**
+     * Asks for two guests to sit at the same table.
+     */
+    public SeatingOptimizer keepTogether(String guestName, String otherGuestName) {
+        together.add(new String[]{guestName, otherGuestName});
+        return this;
+    }
+
+    /**
+     * Asks for two guests to sit at different tables.
+     */
+    public SeatingOptimizer keepApart(String guestName, String otherGuestName) {
+        apart.add(new String[]{guestName, otherGuestName});
+        return this;
+    }
+
+    /**
+     * Sets the random seed, so runs with the same number of moves give the same plan.
+     */
+    public SeatingOptimizer withSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * Improves the greedy seating for up to the given time.
+     * Constraints naming guests who are not in the list are ignored.
+     *
+     * @param guests the guests to seat
+     * @param budgetMillis how long to search
+     * @return the best plan found with its scores
+     * @throws IllegalStateException if there is insufficient capacity
+     */
+    public Result optimize(List<Guest> guests, long budgetMillis) {
+        return new Search(guests).run(budgetMillis);
+    }
+
+    // State of one run, all in primitive arrays
+    private final class Search {
+        final List<Guest> guests;
+        final int n;
+        final int tableCount;
+        final int seatsPerTable;
+        // seats at each table, index 0 unused
+        final int[] seats;
+        final int[] table;
+        final int[] group;
+        final int[] tableSize;
+        // guests at each table: members[t * seatsPerTable + k] for k < tableSize[t];
+        // seatsPerTable is the largest table, so every table fits its stride
+        final int[] members;
+        final int[] slot;
+        // (group, table) -> guests of that group at that table
+        final LongIntMap headCount = new LongIntMap();
+        // constraints per guest: partner index, and +1 for together / -1 for apart
+        final int[][] partners;
+        final int[][] kinds;
+        final SplittableRandom random = new SplittableRandom(seed);
+        final int[] groupTableCount;
+        // guests of group g: groupMembers[groupStart[g]] to groupMembers[groupStart[g + 1] - 1]
+        final int[] groupStart;
+        final int[] groupMembers;
+        int objective;
+
+        Search(List<Guest> guests) {
+            this.guests = guests;
+            this.n = guests.size();
+            this.tableCount = venue.getTables();
+            this.seatsPerTable = venue.getSeatsPerTable();
+            this.seats = new int[Math.max(0, tableCount) + 1];
+            System.arraycopy(venue.getTableCapacities(), 0, seats, 1, Math.max(0, tableCount));
+            this.table = new PrimitiveSeatingEngine(venue).assignTables(guests);
+            this.group = new int[n];
+            this.tableSize = new int[Math.max(0, tableCount) + 1];
+            this.members = new int[tableSize.length * Math.max(0, seatsPerTable)];
+            this.slot = new int[n];
+
+            Map<String, Integer> groupIds = new HashMap<>();
+            Map<String, Integer> indexOf = new HashMap<>();
+            for (int i = 0; i < n; i++) {
+                Guest g = guests.get(i);
+                group[i] = groupIds.computeIfAbsent(g.getGroupTag(), k -> groupIds.size());
+                indexOf.put(g.getName(), i);
+            }
+            groupTableCount = new int[groupIds.size()];
+            groupStart = new int[groupIds.size() + 1];
+            for (int i = 0; i < n; i++) {
+                groupStart[group[i] + 1]++;
+            }
+            for (int g = 0; g < groupIds.size(); g++) {
+                groupStart[g + 1] += groupStart[g];
+            }
+            groupMembers = new int[n];
+            int[] fill = Arrays.copyOf(groupStart, groupIds.size());
+            for (int i = 0; i < n; i++) {
+                groupMembers[fill[group[i]]++] = i;
+            }
+            for (int i = 0; i < n; i++) {
+                if (table[i] > 0) {
+                    slot[i] = tableSize[table[i]]++;
+                    members[table[i] * seatsPerTable + slot[i]] = i;
+                    if (headCount.add(key(group[i], table[i]), 1) == 1) {
+                        groupTableCount[group[i]]++;
+                    }
+                }
+            }
+
+            List<List<int[]>> links = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                links.add(new ArrayList<>(0));
+            }
+            link(together, 1, indexOf, links);
+            link(apart, -1, indexOf, links);
+            partners = new int[n][];
+            kinds = new int[n][];
+            for (int i = 0; i < n; i++) {
+                List<int[]> l = links.get(i);
+                partners[i] = new int[l.size()];
+                kinds[i] = new int[l.size()];
+                for (int j = 0; j < l.size(); j++) {
+                    partners[i][j] = l.get(j)[0];
+                    kinds[i][j] = l.get(j)[1];
+                }
+            }
+            objective = fullObjective();
+        }
+
+        private void link(List<String[]> pairs, int kind, Map<String, Integer> indexOf, List<List<int[]>> links) {
+            for (String[] p : pairs) {
+                Integer a = indexOf.get(p[0]);
+                Integer b = indexOf.get(p[1]);
+                if (a != null && b != null && !a.equals(b)) {
+                    links.get(a).add(new int[]{b, kind});
+                    links.get(b).add(new int[]{a, kind});
+                }
+            }
+        }
+
+        Result run(long budgetMillis) {
+            int initialObjective = objective;
+            if (n < 2 || tableCount < 2 || seatsPerTable <= 0) {
+                return result(table, initialObjective, 0);
+            }
+            int[] best = table.clone();
+            int bestObjective = objective;
+
+            long start = System.nanoTime();
+            long budget = Math.max(0, budgetMillis) * 1_000_000L;
+            double startTemperature = 2.0;
+            double endTemperature = 0.05;
+            double temperature = startTemperature;
+            long moves = 0;
+            while (true) {
+                // read the clock only every 4096 moves; it costs more than a move
+                if ((moves & 4095) == 0) {
+                    long elapsed = System.nanoTime() - start;
+                    if (elapsed >= budget) {
+                        break;
+                    }
+                    double progress = (double) elapsed / budget;
+                    temperature = startTemperature * Math.pow(endTemperature / startTemperature, progress);
+                    if (objective < bestObjective) {
+                        bestObjective = objective;
+                        System.arraycopy(table, 0, best, 0, n);
+                    }
+                }
+                moves++;
+
+                int x = random.nextInt(n);
+                int to;
+                if (random.nextBoolean()) {
+                    // move towards a table where another member of the group sits
+                    int g = group[x];
+                    int mate = groupMembers[groupStart[g] + random.nextInt(groupStart[g + 1] - groupStart[g])];
+                    to = table[mate];
+                } else {
+                    to = 1 + random.nextInt(tableCount);
+                }
+                int from = table[x];
+                if (to == from || seats[to] == 0) {
+                    continue;
+                }
+                // a free seat means a plain move; otherwise swap with someone at that table
+                int y = -1;
+                if (tableSize[to] >= seats[to]) {
+                    y = members[to * seatsPerTable + random.nextInt(tableSize[to])];
+                }
+                int delta = delta(x, from, to, y);
+                if (delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature)) {
+                    apply(x, from, to, y);
+                    objective += delta;
+                }
+            }
+            if (objective < bestObjective) {
+                bestObjective = objective;
+                System.arraycopy(table, 0, best, 0, n);
+            }
+            return result(best, initialObjective, moves);
+        }
+
+        /**
+         * Change in objective if x moves from -> to and, when y >= 0, y moves to -> from.
+         */
+        private int delta(int x, int from, int to, int y) {
+            int d = 0;
+            if (y < 0 || group[x] != group[y]) {
+                d += groupDelta(group[x], from, to);
+                if (y >= 0) {
+                    d += groupDelta(group[y], to, from);
+                }
+            }
+            d += CONSTRAINT_WEIGHT * (constraintDelta(x, to, y) + (y >= 0 ? constraintDelta(y, from, x) : 0));
+            return d;
+        }
+
+        private int groupDelta(int g, int from, int to) {
+            int d = 0;
+            if (headCount.get(key(g, from)) == 1) {
+                d--;
+            }
+            if (headCount.get(key(g, to)) == 0) {
+                d++;
+            }
+            return d;
+        }
+
+        private int constraintDelta(int guest, int newTable, int swappedWith) {
+            int d = 0;
+            int[] p = partners[guest];
+            for (int j = 0; j < p.length; j++) {
+                int other = p[j];
+                if (other == swappedWith) {
+                    // both move between the same two tables: still at different tables
+                    continue;
+                }
+                d += broken(kinds[guest][j], newTable, table[other]) - broken(kinds[guest][j], table[guest], table[other]);
+            }
+            return d;
+        }
+
+        private int broken(int kind, int a, int b) {
+            return (kind > 0) == (a != b) ? 1 : 0;
+        }
+
+        private void apply(int x, int from, int to, int y) {
+            if (y < 0) {
+                moveGuest(x, from, to);
+                return;
+            }
+            // a swap keeps both tables full: each guest takes the other's seat
+            recount(x, from, to);
+            recount(y, to, from);
+            int seatOfX = slot[x];
+            slot[x] = slot[y];
+            slot[y] = seatOfX;
+            members[to * seatsPerTable + slot[x]] = x;
+            members[from * seatsPerTable + slot[y]] = y;
+            table[x] = to;
+            table[y] = from;
+        }
+
+        private void recount(int i, int from, int to) {
+            if (headCount.add(key(group[i], from), -1) == 0) {
+                groupTableCount[group[i]]--;
+            }
+            if (headCount.add(key(group[i], to), 1) == 1) {
+                groupTableCount[group[i]]++;
+            }
+        }
+
+        private void moveGuest(int i, int from, int to) {
+            recount(i, from, to);
+            // fill the hole at the old table with its last guest
+            int last = members[from * seatsPerTable + --tableSize[from]];
+            members[from * seatsPerTable + slot[i]] = last;
+            slot[last] = slot[i];
+            slot[i] = tableSize[to]++;
+            members[to * seatsPerTable + slot[i]] = i;
+            table[i] = to;
+        }
+
+        private int fullObjective() {
+            int extraTables = 0;
+            for (int c : groupTableCount) {
+                extraTables += Math.max(0, c - 1);
+            }
+            return extraTables + CONSTRAINT_WEIGHT * violations(table);
+        }
+
+        private int violations(int[] plan) {
+            int count = 0;
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < partners[i].length; j++) {
+                    if (partners[i][j] > i) {
+                        count += broken(kinds[i][j], plan[i], plan[partners[i][j]]);
+                    }
+                }
+            }
+            return count;
+        }
+
+        private Result result(int[] plan, int initialObjective, long moves) {
+            Map<Integer, List<Guest>> seating = new LinkedHashMap<>();
+            if (n > 0 && tableCount > 0 && seatsPerTable > 0) {
+                for (int t = 1; t <= tableCount; t++) {
+                    seating.put(t, new ArrayList<>());
+                }
+                for (int i = 0; i < n; i++) {
+                    seating.get(plan[i]).add(guests.get(i));
+                }
+            }
+            // score the returned plan from scratch
+            Map<Integer, Set<Integer>> tablesOfGroup = new HashMap<>();
+            for (int i = 0; i < n; i++) {
+                tablesOfGroup.computeIfAbsent(group[i], k -> new HashSet<>()).add(plan[i]);
+            }
+            int split = 0;
+            int extraTables = 0;
+            for (Set<Integer> used : tablesOfGroup.values()) {
+                if (used.size() > 1) {
+                    split++;
+                    extraTables += used.size() - 1;
+                }
+            }
+            int violations = violations(plan);
+            return new Result(seating, extraTables + CONSTRAINT_WEIGHT * violations, initialObjective,
+                    split, violations, moves);
+        }
+    }
+
+    private static long key(int group, int table) {
+        return ((long) group << 32) | table;
+    }
+
+    /**
+     * Open-addressing map from long keys to int counts, so head counts need no boxing.
+     */
+    private static final class LongIntMap {
+        private long[] keys = new long[64];
+        private int[] values = new int[64];
+        private boolean[] used = new boolean[64];
+        private int size;
+
+        int get(long key) {
+            int mask = keys.length - 1;
+            for (int i = hash(key) & mask; used[i]; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return 0;
+        }
+
+        /** Adds to the count for a key and returns the new count. Entries are kept at zero, not removed. */
+        int add(long key, int amount) {
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            for (; used[i]; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i] += amount;
+                }
+            }
+            used[i] = true;
+            keys[i] = key;
+            values[i] = amount;
+            if (++size * 2 > keys.length) {
+                grow();
+            }
+            return amount;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            boolean[] oldUsed = used;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            used = new boolean[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldUsed[j]) {
+                    int i = hash(oldKeys[j]) & mask;
+                    while (used[i]) {
+                        i = (i + 1) & mask;
+                    }
+                    used[i] = true;
+                    keys[i] = oldKeys[j];
+                    values[i] = oldValues[j];
+                }
+            }
+        }
+
+        private static int hash(long key) {
+            key *= 0x9e3779b97f4a7c15L;
+            return (int) (key ^ (key >>> 32));
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package edu.course.eventplanner.service;
+
+import edu.course.eventplanner.model.*;
+import java.util.*;
+import java.util.stream.*;
+
+/**
+ * Remembers seating plans so asking again for the same guest list and venue
+ * costs a map lookup instead of a new plan.
+ *
+ * An entry is keyed by the identity of the {@link GuestListManager} and the
+ * {@link Venue}, and remembers the manager's version it was planned at. Any
+ * change to the guest list bumps that version, so the next request sees a
+ * stale entry, replans and replaces it. At most {@code capacity} plans are
+ * kept; the least recently used one is evicted first.
+ *
+ * Plans are returned read-only because they are shared between callers.
+ * Thread-safe. A miss takes a snapshot of the guest list together with its
+ * version and plans from that immutable copy outside the cache's lock, so a
+ * slow miss never holds up requests for other plans, and a plan always matches
+ * the version it is stored under. Two callers that miss on the same key at
+ * once may both plan it; the newer plan is kept. Like
+ * {@link GuestListManager#snapshot()}, call it on the thread that changes the manager.
+ */
+public class SeatingPlanCache {
+    public static final int DEFAULT_CAPACITY = 16;
+
+    // compares the manager and venue by identity, not by contents
+    private static final class Key {
+        final GuestListManager manager;
+        final Venue venue;
+
+        Key(GuestListManager manager, Venue venue) {
+            this.manager = manager;
+            this.venue = venue;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key k && k.manager == manager && k.venue == venue;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(manager) + System.identityHashCode(venue);
+        }
+    }
+
+    private static final class Plan {
+        final long version;
+        final Map<Integer, List<Guest>> seating;
+
+        Plan(long version, Map<Integer, List<Guest>> seating) {
+            this.version = version;
+            this.seating = seating;
+        }
+    }
+
+    private final LinkedHashMap<Key, Plan> plans;
+    private long hits;
+    private long misses;
+
+    public SeatingPlanCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity the most plans kept at once
+     */
+    public SeatingPlanCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        // access order, so iteration starts at the least recently used plan
+        this.plans = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Plan> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Get the seating for a guest list at a venue, planning it only if the
+     * guest list changed since it was last planned there.
+     *
+     * @return the same tables as {@link SeatingPlanner#generateSeating(GuestListManager)}, read-only
+     * @throws IllegalStateException if there is insufficient capacity
+     */
+    public Map<Integer, List<Guest>> getSeating(GuestListManager manager, Venue venue) {
+        Key key = new Key(manager, venue);
+        GuestListSnapshot guests = manager.snapshot();
+        Plan plan = lookup(key, guests.getVersion());
+        if (plan != null) {
+            return plan.seating;
+        }
+        Map<Integer, List<Guest>> seating = new LinkedHashMap<>();
+        new SeatingPlanner(venue).streamSeating(guests)
+                .forEachOrdered(e -> seating.put(e.getKey(), List.copyOf(e.getValue())));
+        return store(key, guests.getVersion(), seating);
+    }
+
+    /**
+     * Same tables as {@link #getSeating}, one at a time. A cached plan is
+     * streamed as stored; otherwise each table is planned only when the stream
+     * asks for it, as with {@link SeatingPlanner#streamSeating(List)}, and the
+     * plan is cached once the stream has been read to the end.
+     *
+     * @return the tables in order, as (table number, guests at that table), read-only
+     * @throws IllegalStateException if there is insufficient capacity
+     */
+    public Stream<Map.Entry<Integer, List<Guest>>> streamSeating(GuestListManager manager, Venue venue) {
+        Key key = new Key(manager, venue);
+        GuestListSnapshot guests = manager.snapshot();
+        long version = guests.getVersion();
+        Plan plan = lookup(key, version);
+        if (plan != null) {
+            return plan.seating.entrySet().stream();
+        }
+        Iterator<Map.Entry<Integer, List<Guest>>> tables = new SeatingPlanner(venue).streamSeating(guests).iterator();
+        Map<Integer, List<Guest>> seating = new LinkedHashMap<>();
+        Iterator<Map.Entry<Integer, List<Guest>>> recording = new Iterator<>() {
+            private boolean stored;
+
+            @Override
+            public boolean hasNext() {
+                if (tables.hasNext()) {
+                    return true;
+                }
+                if (!stored) {
+                    store(key, version, seating);
+                    stored = true;
+                }
+                return false;
+            }
+
+            @Override
+            public Map.Entry<Integer, List<Guest>> next() {
+                Map.Entry<Integer, List<Guest>> e = tables.next();
+                List<Guest> table = List.copyOf(e.getValue());
+                seating.put(e.getKey(), table);
+                return Map.entry(e.getKey(), table);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(recording, Spliterator.ORDERED), false);
+    }
+
+    /**
+     * @return the cached plan if it was made at this version, counting a hit or a miss
+     */
+    private synchronized Plan lookup(Key key, long version) {
+        Plan plan = plans.get(key);
+        if (plan != null && plan.version == version) {
+            hits++;
+            return plan;
+        }
+        misses++;
+        return null;
+    }
+
+    private synchronized Map<Integer, List<Guest>> store(Key key, long version, Map<Integer, List<Guest>> seating) {
+        Plan plan = new Plan(version, Collections.unmodifiableMap(seating));
+        Plan current = plans.get(key);
+        if (current == null || current.version <= version) {
+            plans.put(key, plan);
+        }
+        return plan.seating;
+    }
+
+    /**
+     * Drops every plan for a guest list, at any venue.
+     */
+    public synchronized void invalidate(GuestListManager manager) {
+        plans.keySet().removeIf(k -> k.manager == manager);
+    }
+
+    /**
+     * Drops every plan for a venue.
+     */
+    public synchronized void invalidate(Venue venue) {
+        plans.keySet().removeIf(k -> k.venue == venue);
+    }
+
+    public synchronized void clear() {
+        plans.clear();
+    }
+
+    public synchronized int size() {
+        return plans.size();
+    }
+
+    /**
+     * @return how many requests were answered from the cache
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return how many requests needed a new plan
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+}
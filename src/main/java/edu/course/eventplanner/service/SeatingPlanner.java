@@ -2,6 +2,8 @@ package edu.course.eventplanner.service;
 
 import edu.course.eventplanner.model.*;
 import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class SeatingPlanner {
     private final Venue venue;
@@ -21,70 +23,244 @@ public class SeatingPlanner {
      *                               there is insufficient capacity
      */
     public Map<Integer, List<Guest>> generateSeating(List<Guest> guests) {
+        return collect(streamSeating(guests));
+    }
+
+    /**
+     * Generates a seating arrangement for every guest in the manager.
+     * Uses the manager's group index, so guests are not regrouped first.
+     * The result is the same as {@code generateSeating(manager.getAllGuests())}.
+     *
+     * @param manager the guest list to be seated
+     * @return a map where the key is the table number and the value is the list of
+     *         guests assigned to that table
+     * @throws IllegalStateException if there is insufficient capacity
+     */
+    public Map<Integer, List<Guest>> generateSeating(GuestListManager manager) {
+        return collect(streamSeating(manager));
+    }
+
+    /**
+     * Same tables as {@link #generateSeating(List)}, but each table is filled only
+     * when the stream asks for it, so no more than one table is held at a time.
+     *
+     * @param guests the list of guests to be seated
+     * @return the tables in order, as (table number, guests at that table)
+     * @throws IllegalStateException if there is insufficient capacity
+     */
+    public Stream<Map.Entry<Integer, List<Guest>>> streamSeating(List<Guest> guests) {
+        if (guests == null || guests.isEmpty()) {
+            return Stream.empty();
+        }
+
+        // Group guests by groupTag using a queue for fair seating
+        Map<String, Queue<Guest>> groups = new HashMap<>();
+        for (Guest g : guests) {
+            groups.computeIfAbsent(g.getGroupTag(), k -> new LinkedList<>()).add(g);
+        }
+        List<GroupEntry> entries = new ArrayList<>(groups.size());
+        for (Map.Entry<String, Queue<Guest>> e : groups.entrySet()) {
+            entries.add(new GroupEntry(e.getKey(), e.getValue().size(), e.getValue().iterator()));
+        }
+        return streamTables(entries, guests.size());
+    }
+
+    /**
+     * Same tables as {@code streamSeating(manager.getAllGuests())}, filled one at a
+     * time as the stream is consumed, reading guests straight from the manager's
+     * group index. The index keeps each group's members in list order, including
+     * guests moved between groups, so both paths seat the same guests at each table.
+     * The manager must not change until the stream is consumed.
+     *
+     * @param manager the guest list to be seated
+     * @return the tables in order, as (table number, guests at that table)
+     * @throws IllegalStateException if there is insufficient capacity
+     */
+    public Stream<Map.Entry<Integer, List<Guest>>> streamSeating(GuestListManager manager) {
+        if (manager == null || manager.getGuestCount() == 0) {
+            return Stream.empty();
+        }
+
+        List<GroupEntry> entries = new ArrayList<>();
+        for (Map.Entry<String, ? extends SortedMap<Long, Guest>> e : manager.groupIndex().entrySet()) {
+            entries.add(new GroupEntry(e.getKey(), e.getValue().size(), e.getValue().values().iterator()));
+        }
+        return streamTables(entries, manager.getGuestCount());
+    }
+
+    /**
+     * Generates a seating arrangement for every guest in a compact store,
+     * working on its group id column without creating Guest objects.
+     * Runs {@link PrimitiveSeatingEngine}'s algorithm directly on the store's columns.
+     * Uses the same group ordering as {@link #generateSeating(List)}.
+     *
+     * @param store the guests to be seated
+     * @return an array where element i is the table number (from 1) of the i-th
+     *         guest in insertion order, or 0 if the venue has no usable tables
+     * @throws IllegalStateException if there is insufficient capacity
+     */
+    public int[] generateSeating(CompactGuestStore store) {
+        int groupCount = store.getGroupIdCount();
+        String[] sorted = new String[groupCount];
+        for (int g = 0; g < groupCount; g++) {
+            sorted[g] = store.getGroupTagById(g);
+        }
+        Arrays.sort(sorted);
+        int[] rank = new int[groupCount];
+        for (int g = 0; g < groupCount; g++) {
+            rank[g] = Arrays.binarySearch(sorted, store.getGroupTagById(g));
+        }
+        return PrimitiveSeatingEngine.assign(store.groupIdColumn(), store.getGuestCount(), rank, groupCount,
+                venue.getTableCapacities());
+    }
+
+    /**
+     * Generates a seating arrangement that splits as few groups as possible,
+     * for venues whose tables have different sizes.
+     * Groups are packed largest first (best-fit decreasing): each goes whole to
+     * the fullest table it still fits at. A group that fits nowhere fills the
+     * table with the most free seats, and the rest of it is packed the same way.
+     * Runs in O(g log g + (g + t) log t) for g groups and t tables.
+     *
+     * @param guests the list of guests to be seated
+     * @return a map where the key is the table number and the value is the list of
+     *         guests assigned to that table
+     * @throws IllegalStateException if there is insufficient capacity
+     */
+    public Map<Integer, List<Guest>> generatePackedSeating(List<Guest> guests) {
         Map<Integer, List<Guest>> seating = new LinkedHashMap<>();
         if (guests == null || guests.isEmpty()) {
             return seating;
         }
-
         int tableCount = venue.getTables();
-        int seatsPerTable = venue.getSeatsPerTable();
-
-        if (tableCount <= 0 || seatsPerTable <= 0) {
+        int totalCapacityInVenue = venue.getTotalSeats();
+        if (tableCount <= 0 || totalCapacityInVenue <= 0) {
             return seating;
         }
-
-        int totalCapacityInVenue = tableCount * seatsPerTable;
         if (guests.size() > totalCapacityInVenue) {
             throw new IllegalStateException("Not enough seats for all guests");
         }
 
-        // Group guests by groupTag using a queue for fair seating
-        Map<String, Queue<Guest>> groups = new HashMap<>();
+        Map<String, List<Guest>> groups = new HashMap<>();
         for (Guest g : guests) {
-            groups.computeIfAbsent(g.getGroupTag(), k -> new LinkedList<>()).add(g);
+            groups.computeIfAbsent(g.getGroupTag(), k -> new ArrayList<>()).add(g);
+        }
+        List<Map.Entry<String, List<Guest>>> bySize = new ArrayList<>(groups.entrySet());
+        bySize.sort(Comparator
+                .comparingInt((Map.Entry<String, List<Guest>> e) -> -e.getValue().size())
+                .thenComparing(Map.Entry::getKey));
+
+        // tables with free seats, packed as (free seats << 32 | table number)
+        TreeSet<Long> freeTables = new TreeSet<>();
+        for (int table = 1; table <= tableCount; table++) {
+            int seats = venue.getTableCapacity(table);
+            seating.put(table, new ArrayList<>(seats));
+            if (seats > 0) {
+                freeTables.add(((long) seats << 32) | table);
+            }
+        }
+
+        for (Map.Entry<String, List<Guest>> e : bySize) {
+            List<Guest> group = e.getValue();
+            int seated = 0;
+            while (seated < group.size()) {
+                int left = group.size() - seated;
+                Long fit = freeTables.ceiling((long) left << 32);
+                long key = fit != null ? fit : freeTables.pollLast();
+                freeTables.remove(key);
+                int table = (int) key;
+                int free = (int) (key >>> 32);
+                int seatCount = Math.min(free, left);
+                seating.get(table).addAll(group.subList(seated, seated + seatCount));
+                seated += seatCount;
+                if (free > seatCount) {
+                    freeTables.add(((long) (free - seatCount) << 32) | table);
+                }
+            }
+        }
+        return seating;
+    }
+
+    private static Map<Integer, List<Guest>> collect(Stream<Map.Entry<Integer, List<Guest>>> tables) {
+        Map<Integer, List<Guest>> seating = new LinkedHashMap<>();
+        tables.forEachOrdered(e -> seating.put(e.getKey(), e.getValue()));
+        return seating;
+    }
+
+    private Stream<Map.Entry<Integer, List<Guest>>> streamTables(List<GroupEntry> groups, int guestCount) {
+        int tableCount = venue.getTables();
+        int totalCapacityInVenue = venue.getTotalSeats();
+
+        if (tableCount <= 0 || totalCapacityInVenue <= 0) {
+            return Stream.empty();
         }
 
-        // TreeSet ordering groups by remaining size (desc), then by tag for tie-breaker
-        class GroupEntry {
-            final String tag;
-            int size;
-            GroupEntry(String tag, int size) { this.tag = tag; this.size = size; }
+        // checked up front, so a caller fails before any table is produced
+        if (guestCount > totalCapacityInVenue) {
+            throw new IllegalStateException("Not enough seats for all guests");
         }
 
-        Comparator<GroupEntry> cmp = Comparator
+        Iterator<Map.Entry<Integer, List<Guest>>> tables = new TableIterator(groups);
+        return StreamSupport.stream(Spliterators.spliterator(tables, tableCount,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    // A group still waiting for seats: its remaining size and the guests not yet seated
+    private static final class GroupEntry {
+        final String tag;
+        final Iterator<Guest> guests;
+        int size;
+
+        GroupEntry(String tag, int size, Iterator<Guest> guests) {
+            this.tag = tag;
+            this.size = size;
+            this.guests = guests;
+        }
+    }
+
+    // Fills tables one at a time, from table 1 to the last table
+    private final class TableIterator implements Iterator<Map.Entry<Integer, List<Guest>>> {
+        // groups ordered by remaining size (desc), then by tag for tie-breaker
+        private final TreeSet<GroupEntry> orderedGroups = new TreeSet<>(Comparator
                 .comparingInt((GroupEntry e) -> -e.size)
-                .thenComparing(e -> e.tag);
+                .thenComparing(e -> e.tag));
+        private int table;
 
-        TreeSet<GroupEntry> orderedGroups = new TreeSet<>(cmp);
-        for (Map.Entry<String, Queue<Guest>> e : groups.entrySet()) {
-            orderedGroups.add(new GroupEntry(e.getKey(), e.getValue().size()));
+        TableIterator(List<GroupEntry> groups) {
+            orderedGroups.addAll(groups);
         }
 
-        // Fill tables one at a time
-        for (int table = 1; table <= tableCount; table++) {
-            List<Guest> tableList = new ArrayList<>(seatsPerTable);
-            int seatsLeft = seatsPerTable;
+        @Override
+        public boolean hasNext() {
+            return table < venue.getTables();
+        }
+
+        @Override
+        public Map.Entry<Integer, List<Guest>> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            table++;
+            int seatsLeft = venue.getTableCapacity(table);
+            List<Guest> tableList = new ArrayList<>(seatsLeft);
 
             while (seatsLeft > 0 && !orderedGroups.isEmpty()) {
                 GroupEntry ge = orderedGroups.pollFirst();
-                Queue<Guest> q = groups.get(ge.tag);
-                int seatCount = Math.min(seatsLeft, q.size());
+                int seatCount = Math.min(seatsLeft, ge.size);
 
                 for (int i = 0; i < seatCount; i++) {
-                    tableList.add(q.poll());
+                    tableList.add(ge.guests.next());
                 }
 
                 seatsLeft -= seatCount;
+                ge.size -= seatCount;
 
-                if (!q.isEmpty()) {
-                    // update remaining size and reinsert
-                    orderedGroups.add(new GroupEntry(ge.tag, q.size()));
+                if (ge.size > 0) {
+                    // reinsert with the updated remaining size
+                    orderedGroups.add(ge);
                 }
             }
-
-            seating.put(table, tableList);
+            return Map.entry(table, tableList);
         }
-
-        return seating;
     }
 }
@@ -0,0 +1,187 @@
+package edu.course.eventplanner.service;
+
+import edu.course.eventplanner.model.Task;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Binary min-heap of upcoming tasks that also finds each task by id, for
+ * {@link TaskManager}. Every entry remembers its position in the heap array,
+ * so changing an entry's priority or deadline, or removing it, is a sift from
+ * that position: O(log n) for insert, poll, update and remove.
+ *
+ * An entry's priority and deadline start as the task's own and may be changed
+ * afterwards; the Task itself is never modified.
+ */
+final class TaskHeap {
+    static final class Entry {
+        final long id;
+        final Task task;
+        int priority;
+        LocalDate deadline;
+        int index;
+
+        Entry(long id, Task task) {
+            this(id, task, task.getPriority(), task.getDeadline());
+        }
+
+        Entry(long id, Task task, int priority, LocalDate deadline) {
+            this.id = id;
+            this.task = task;
+            this.priority = priority;
+            this.deadline = deadline;
+        }
+    }
+
+    private Comparator<Entry> order;
+    private final Map<Long, Entry> byId = new HashMap<>();
+    private Entry[] heap = new Entry[16];
+    private int size;
+
+    /**
+     * @param order the first entry in this order is polled first
+     */
+    TaskHeap(Comparator<Entry> order) {
+        this.order = order;
+    }
+
+    void add(long id, Task task) {
+        add(new Entry(id, task));
+    }
+
+    /**
+     * Adds an entry as given, keeping its id, priority and deadline.
+     */
+    void add(Entry e) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        heap[size] = e;
+        e.index = size++;
+        byId.put(e.id, e);
+        siftUp(e.index);
+    }
+
+    Task peek() {
+        return size == 0 ? null : heap[0].task;
+    }
+
+    Task poll() {
+        if (size == 0) {
+            return null;
+        }
+        Entry first = heap[0];
+        removeAt(0);
+        return first.task;
+    }
+
+    /**
+     * @return false if there is no upcoming task with that id
+     */
+    boolean remove(long id) {
+        Entry e = byId.get(id);
+        if (e == null) {
+            return false;
+        }
+        removeAt(e.index);
+        return true;
+    }
+
+    /**
+     * Changes an entry's priority and deadline and restores the heap order.
+     * @return false if there is no upcoming task with that id
+     */
+    boolean update(long id, int priority, LocalDate deadline) {
+        Entry e = byId.get(id);
+        if (e == null) {
+            return false;
+        }
+        e.priority = priority;
+        e.deadline = deadline;
+        siftUp(e.index);
+        siftDown(e.index);
+        return true;
+    }
+
+    Entry get(long id) {
+        return byId.get(id);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return every upcoming entry in the order they would be polled
+     */
+    List<Entry> inOrder() {
+        Entry[] sorted = Arrays.copyOf(heap, size);
+        Arrays.sort(sorted, order);
+        return Arrays.asList(sorted);
+    }
+
+    /**
+     * Switches to a new order and rebuilds the heap bottom-up in O(n).
+     */
+    void reorder(Comparator<Entry> order) {
+        this.order = order;
+        for (int i = (size >>> 1) - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    void clear() {
+        Arrays.fill(heap, 0, size, null);
+        size = 0;
+        byId.clear();
+    }
+
+    private void removeAt(int i) {
+        Entry removed = heap[i];
+        byId.remove(removed.id);
+        Entry last = heap[--size];
+        heap[size] = null;
+        if (i < size) {
+            heap[i] = last;
+            last.index = i;
+            siftUp(i);
+            siftDown(last.index);
+        }
+    }
+
+    private void siftUp(int i) {
+        Entry e = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (order.compare(heap[parent], e) <= 0) {
+                break;
+            }
+            heap[i] = heap[parent];
+            heap[i].index = i;
+            i = parent;
+        }
+        heap[i] = e;
+        e.index = i;
+    }
+
+    private void siftDown(int i) {
+        Entry e = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && order.compare(heap[child + 1], heap[child]) < 0) {
+                child++;
+            }
+            if (order.compare(e, heap[child]) <= 0) {
+                break;
+            }
+            heap[i] = heap[child];
+            heap[i].index = i;
+            i = child;
+        }
+        heap[i] = e;
+        e.index = i;
+    }
+}
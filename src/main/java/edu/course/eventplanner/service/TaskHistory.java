@@ -0,0 +1,95 @@
+package edu.course.eventplanner.service;
+
+import edu.course.eventplanner.model.Task;
+import java.util.*;
+
+/**
+ * A stack of tasks that keeps only the most recent {@code depth} of them, for
+ * {@link TaskManager}'s undo and redo histories. It is a ring buffer: pushing
+ * onto a full history overwrites the oldest task, so memory stays fixed however
+ * many tasks are run. The array grows by doubling up to the depth and is then
+ * reused; push and pop allocate nothing and take no lock.
+ */
+final class TaskHistory {
+    private final int depth;
+    private Task[] ring;
+    private int top; // index after the newest task
+    private int size;
+
+    TaskHistory(int depth) {
+        if (depth <= 0) {
+            throw new IllegalArgumentException("History depth must be positive");
+        }
+        this.depth = depth;
+        this.ring = new Task[Math.min(depth, 8)];
+    }
+
+    int depth() {
+        return depth;
+    }
+
+    void push(Task task) {
+        if (size == ring.length && ring.length < depth) {
+            grow();
+        }
+        ring[top] = task;
+        top = (top + 1) % ring.length;
+        if (size < ring.length) {
+            size++;
+        }
+    }
+
+    /**
+     * @return the newest task, or null if there is none
+     */
+    Task pop() {
+        if (size == 0) {
+            return null;
+        }
+        top = (top - 1 + ring.length) % ring.length;
+        Task task = ring[top];
+        ring[top] = null;
+        size--;
+        return task;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * O(size): only the slots in use are cleared, so clearing an empty history is free.
+     */
+    void clear() {
+        for (; size > 0; size--) {
+            top = (top - 1 + ring.length) % ring.length;
+            ring[top] = null;
+        }
+        top = 0;
+    }
+
+    /**
+     * @return the tasks, oldest first
+     */
+    List<Task> toList() {
+        List<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tasks.add(ring[(top - size + i + ring.length) % ring.length]);
+        }
+        return tasks;
+    }
+
+    private void grow() {
+        // unroll the ring so the oldest task is at 0
+        List<Task> tasks = toList();
+        ring = new Task[Math.min(depth, ring.length * 2)];
+        for (int i = 0; i < tasks.size(); i++) {
+            ring[i] = tasks.get(i);
+        }
+        top = tasks.size() % ring.length;
+    }
+}
@@ -1,14 +1,87 @@
 package edu.course.eventplanner.service;
 
 import edu.course.eventplanner.model.Task;
+import java.time.LocalDate;
 import java.util.*;
 
 public class TaskManager {
-    private final Queue<Task> upcoming = new LinkedList<>();
-    private final Stack<Task> completed = new Stack<>();
+    /**
+     * How executeNextTask picks the next task. Ties always go to the task added first.
+     */
+    public enum Policy {
+        /** The oldest task first. */
+        FIFO,
+        /** The highest priority first, then the earliest deadline. */
+        PRIORITY,
+        /** The earliest deadline first (tasks without one last), then the highest priority. */
+        EARLIEST_DEADLINE
+    }
+
+    public static final int DEFAULT_UNDO_DEPTH = 1000;
+
+    private static final Comparator<LocalDate> DEADLINE = Comparator.nullsLast(Comparator.naturalOrder());
 
-    public void addTask(Task task) {
-        upcoming.add(task);
+    private Policy policy;
+    // upcoming tasks in an indexed heap; ids go up with every task added, so FIFO orders by id
+    private final TaskHeap upcoming;
+    // the most recently executed tasks, newest on top, and the tasks undone since the last execute
+    private final TaskHistory completed;
+    private final TaskHistory undone;
+    private long nextId = 1;
+
+    public TaskManager() {
+        this(Policy.FIFO);
+    }
+
+    public TaskManager(Policy policy) {
+        this(policy, DEFAULT_UNDO_DEPTH);
+    }
+
+    /**
+     * @param undoDepth how many executed tasks can be undone (and undone tasks redone);
+     *                  older ones are forgotten
+     */
+    public TaskManager(Policy policy, int undoDepth) {
+        this.policy = policy;
+        this.completed = new TaskHistory(undoDepth);
+        this.undone = new TaskHistory(undoDepth);
+        this.upcoming = new TaskHeap(orderFor(policy));
+    }
+
+    private static Comparator<TaskHeap.Entry> orderFor(Policy policy) {
+        Comparator<TaskHeap.Entry> byPriority = Comparator.comparingInt((TaskHeap.Entry e) -> -e.priority);
+        Comparator<TaskHeap.Entry> byDeadline = Comparator.comparing((TaskHeap.Entry e) -> e.deadline, DEADLINE);
+        Comparator<TaskHeap.Entry> order = switch (policy) {
+            case FIFO -> (a, b) -> 0;
+            case PRIORITY -> byPriority.thenComparing(byDeadline);
+            case EARLIEST_DEADLINE -> byDeadline.thenComparing(byPriority);
+        };
+        return order.thenComparingLong(e -> e.id);
+    }
+
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Change how executeNextTask picks the next task. The upcoming tasks keep
+     * their ids, priorities and deadlines and are reordered in O(n).
+     */
+    public void setPolicy(Policy policy) {
+        if (policy != this.policy) {
+            this.policy = policy;
+            upcoming.reorder(orderFor(policy));
+        }
+    }
+
+    /**
+     * Add a task to the upcoming tasks
+     * @return an id for changing or removing the task before it is executed
+     */
+    public long addTask(Task task) {
+        long id = nextId++;
+        upcoming.add(id, task);
+        return id;
     }
 
     /**
@@ -19,19 +92,73 @@ public class TaskManager {
         Task task = upcoming.poll();
         if (task != null) {
             completed.push(task);
+            // a new execution starts a new line of history
+            undone.clear();
         }
         return task;
     }
 
+    /**
+     * Get the task executeNextTask would execute, without executing it
+     * @return the next task, or null if there are no upcoming tasks
+     */
+    public Task peekNextTask() {
+        return upcoming.peek();
+    }
+
+    /**
+     * Change the priority of an upcoming task. O(log n).
+     * @return false if no upcoming task has that id
+     */
+    public boolean reprioritize(long id, int priority) {
+        TaskHeap.Entry e = upcoming.get(id);
+        return e != null && upcoming.update(id, priority, e.deadline);
+    }
+
+    /**
+     * Change the deadline of an upcoming task. O(log n).
+     * @param deadline the new deadline, or null for none
+     * @return false if no upcoming task has that id
+     */
+    public boolean reschedule(long id, LocalDate deadline) {
+        TaskHeap.Entry e = upcoming.get(id);
+        return e != null && upcoming.update(id, e.priority, deadline);
+    }
+
+    /**
+     * Remove an upcoming task without executing it. O(log n).
+     * @return false if no upcoming task has that id
+     */
+    public boolean removeTask(long id) {
+        return upcoming.remove(id);
+    }
+
     /***
      * Undo the last task that was executed
      * @return the task that was undone, or null if there are no completed tasks
      */
     public Task undoLastTask() {
-        if (!completed.isEmpty()) {
-            return completed.pop();
+        Task task = completed.pop();
+        if (task != null) {
+            undone.push(task);
+        }
+        return task;
+    }
+
+    /**
+     * Redo the last task that was undone, putting it back in the executed history
+     * @return the task that was redone, or null if nothing was undone since the last execute
+     */
+    public Task redoLastUndo() {
+        Task task = undone.pop();
+        if (task != null) {
+            completed.push(task);
         }
-        return null;
+        return task;
+    }
+
+    public int getUndoDepth() {
+        return completed.depth();
     }
 
     /**
@@ -41,4 +168,48 @@ public class TaskManager {
     public int remainingTaskCount() {
         return upcoming.size();
     }
+
+    /**
+     * Tasks not yet executed, next one first, with their ids and current
+     * priority and deadline. Used when saving state.
+     */
+    List<TaskHeap.Entry> upcomingTasks() {
+        return upcoming.inOrder();
+    }
+
+    /**
+     * The id the next added task will get. Used when saving state.
+     */
+    long nextTaskId() {
+        return nextId;
+    }
+
+    /**
+     * Executed tasks, oldest first. Used when saving state.
+     */
+    List<Task> completedTasks() {
+        return completed.toList();
+    }
+
+    /**
+     * Undone tasks that can be redone, oldest first. Used when saving state.
+     */
+    List<Task> undoneTasks() {
+        return undone.toList();
+    }
+
+    /**
+     * Replaces the whole state with previously saved task lists.
+     * Upcoming tasks keep their saved ids, so later log records still find them.
+     */
+    void restore(long nextTaskId, List<TaskHeap.Entry> upcomingTasks,
+                 List<Task> completedTasks, List<Task> undoneTasks) {
+        upcoming.clear();
+        upcomingTasks.forEach(upcoming::add);
+        nextId = nextTaskId;
+        completed.clear();
+        completedTasks.forEach(completed::push);
+        undone.clear();
+        undoneTasks.forEach(undone::push);
+    }
 }
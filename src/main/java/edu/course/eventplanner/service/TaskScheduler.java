@@ -0,0 +1,285 @@
+package edu.course.eventplanner.service;
+
+import edu.course.eventplanner.model.Task;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Runs preparation tasks in dependency order, like {@link TaskManager} but for
+ * tasks that declare what they depend on (by description).
+ *
+ * The tasks form a DAG. Each task counts the dependencies it is still waiting
+ * on, and a task whose count reaches zero joins a ready set ordered by when it
+ * was added, so tasks without dependencies run first in, first out as in
+ * TaskManager. A dependency may be added after the task that needs it; a task
+ * waiting on a dependency that never arrives, or on a cycle, is never ready, and
+ * {@link #topologicalOrder()} reports it.
+ *
+ * Independent tasks can also be run in parallel on an executor with
+ * {@link #runAll(Executor, Consumer)}. Every executed task, however it ran, goes
+ * on one undo history. Thread-safe.
+ */
+public class TaskScheduler {
+    private static final class Node {
+        final String description;
+        Task task; // null until the task itself is added
+        long seq;
+        final List<Node> dependents = new ArrayList<>();
+        int waitingOn;
+        boolean done;
+
+        Node(String description) {
+            this.description = description;
+        }
+    }
+
+    private final Map<String, Node> nodes = new HashMap<>();
+    private final TreeSet<Node> ready = new TreeSet<>(Comparator.comparingLong((Node n) -> n.seq));
+    private final Deque<Node> completed = new ArrayDeque<>();
+    private long nextSeq;
+    private int pending;
+
+    /**
+     * @throws IllegalArgumentException if a task with the same description was already added
+     */
+    public synchronized void addTask(Task task) {
+        Node node = nodes.computeIfAbsent(task.getDescription(), Node::new);
+        if (node.task != null) {
+            throw new IllegalArgumentException("Task already added: " + task.getDescription());
+        }
+        node.task = task;
+        node.seq = nextSeq++;
+        for (String dependency : new LinkedHashSet<>(task.getDependencies())) {
+            Node dep = nodes.computeIfAbsent(dependency, Node::new);
+            dep.dependents.add(node);
+            if (!dep.done) {
+                node.waitingOn++;
+            }
+        }
+        pending++;
+        if (node.waitingOn == 0) {
+            ready.add(node);
+        }
+    }
+
+    /**
+     * Execute the earliest added task whose dependencies are all done
+     * @return the task that was executed, or null if no task is ready
+     */
+    public synchronized Task executeNextTask() {
+        Node node = ready.pollFirst();
+        if (node == null) {
+            return null;
+        }
+        markDone(node);
+        return node.task;
+    }
+
+    /**
+     * Undo the last task that was executed. It becomes pending again, and tasks
+     * that depend on it wait for it again.
+     * @return the task that was undone, or null if there are no completed tasks
+     */
+    public synchronized Task undoLastTask() {
+        Node node = completed.pollLast();
+        if (node == null) {
+            return null;
+        }
+        node.done = false;
+        pending++;
+        // it ran last, so none of its dependents has run since
+        for (Node dependent : node.dependents) {
+            if (dependent.waitingOn++ == 0) {
+                ready.remove(dependent);
+            }
+        }
+        ready.add(node);
+        return node.task;
+    }
+
+    /**
+     * Get the number of tasks that have not yet been executed
+     * @return the number of remaining tasks
+     */
+    public synchronized int remainingTaskCount() {
+        return pending;
+    }
+
+    /**
+     * Get the tasks ready to run now, earliest added first
+     */
+    public synchronized List<Task> readyTasks() {
+        List<Task> tasks = new ArrayList<>(ready.size());
+        for (Node n : ready) {
+            tasks.add(n.task);
+        }
+        return tasks;
+    }
+
+    /**
+     * Orders every task so each comes after all of its dependencies (Kahn's
+     * algorithm), earliest added first among tasks that could go next. O(t + d)
+     * for t tasks and d dependencies.
+     *
+     * @throws IllegalStateException if a dependency was never added or the tasks form a cycle
+     */
+    public synchronized List<Task> topologicalOrder() {
+        Map<Node, Integer> waiting = new HashMap<>();
+        TreeSet<Node> next = new TreeSet<>(ready.comparator());
+        for (Node n : nodes.values()) {
+            if (n.task == null) {
+                Node needing = n.dependents.get(0);
+                throw new IllegalStateException("Unknown dependency \"" + n.description
+                        + "\" of task \"" + needing.description + "\"");
+            }
+            int count = new LinkedHashSet<>(n.task.getDependencies()).size();
+            waiting.put(n, count);
+            if (count == 0) {
+                next.add(n);
+            }
+        }
+        List<Task> order = new ArrayList<>(nodes.size());
+        while (!next.isEmpty()) {
+            Node n = next.pollFirst();
+            order.add(n.task);
+            for (Node dependent : n.dependents) {
+                if (waiting.merge(dependent, -1, Integer::sum) == 0) {
+                    next.add(dependent);
+                }
+            }
+        }
+        if (order.size() < nodes.size()) {
+            throw new IllegalStateException("Dependency cycle: " + String.join(" -> ", findCycle(waiting)));
+        }
+        return order;
+    }
+
+    /**
+     * Finds the longest chain of dependent tasks, which bounds how soon
+     * everything can be finished however many tasks run in parallel.
+     * Between equally long chains, the first listed dependency is followed.
+     *
+     * @param duration how long each task takes
+     * @return the chain, first task first; empty if there are no tasks
+     * @throws IllegalStateException if a dependency was never added or the tasks form a cycle
+     */
+    public synchronized List<Task> criticalPath(ToLongFunction<Task> duration) {
+        Map<String, Long> finish = new HashMap<>();
+        Map<String, Task> previous = new HashMap<>();
+        Task last = null;
+        for (Task t : topologicalOrder()) {
+            long start = 0;
+            Task before = null;
+            for (String dependency : t.getDependencies()) {
+                long f = finish.get(dependency);
+                if (before == null || f > start) {
+                    start = f;
+                    before = nodes.get(dependency).task;
+                }
+            }
+            finish.put(t.getDescription(), start + duration.applyAsLong(t));
+            previous.put(t.getDescription(), before);
+            if (last == null || finish.get(t.getDescription()) > finish.get(last.getDescription())) {
+                last = t;
+            }
+        }
+        LinkedList<Task> path = new LinkedList<>();
+        for (Task t = last; t != null; t = previous.get(t.getDescription())) {
+            path.addFirst(t);
+        }
+        return path;
+    }
+
+    /**
+     * The critical path when every task takes the same time: the longest chain by task count.
+     */
+    public List<Task> criticalPath() {
+        return criticalPath(t -> 1);
+    }
+
+    /**
+     * Runs every remaining task on the executor, each as soon as its dependencies
+     * are done, so independent tasks run in parallel. Tasks are recorded as
+     * executed, in the order they finish, so they can be undone afterwards.
+     * If a task fails, the tasks that depend on it are not run. Do not execute
+     * tasks one by one while this runs.
+     *
+     * @param action the work of one task
+     * @return a future that completes when every task has run, exceptionally if any failed
+     * @throws IllegalStateException if a dependency was never added or the tasks form a cycle
+     */
+    public CompletableFuture<Void> runAll(Executor executor, Consumer<Task> action) {
+        Map<String, CompletableFuture<Void>> futures = new HashMap<>();
+        List<CompletableFuture<Void>> all = new ArrayList<>();
+        synchronized (this) {
+            for (Task t : topologicalOrder()) {
+                Node node = nodes.get(t.getDescription());
+                if (node.done) {
+                    futures.put(t.getDescription(), CompletableFuture.completedFuture(null));
+                    continue;
+                }
+                CompletableFuture<?>[] deps = t.getDependencies().stream()
+                        .map(futures::get).toArray(CompletableFuture[]::new);
+                CompletableFuture<Void> future = CompletableFuture.allOf(deps).thenRunAsync(() -> {
+                    action.accept(t);
+                    finished(node);
+                }, executor);
+                futures.put(t.getDescription(), future);
+                all.add(future);
+            }
+        }
+        return CompletableFuture.allOf(all.toArray(new CompletableFuture<?>[0]));
+    }
+
+    private synchronized void finished(Node node) {
+        if (!node.done) {
+            ready.remove(node);
+            markDone(node);
+        }
+    }
+
+    private void markDone(Node node) {
+        node.done = true;
+        pending--;
+        completed.addLast(node);
+        for (Node dependent : node.dependents) {
+            if (--dependent.waitingOn == 0) {
+                ready.add(dependent);
+            }
+        }
+    }
+
+    /**
+     * @return the descriptions along one cycle among the tasks Kahn's algorithm could not order
+     */
+    private List<String> findCycle(Map<Node, Integer> waiting) {
+        // walk dependencies backwards through unordered tasks until one repeats
+        Map<Node, Integer> seenAt = new HashMap<>();
+        List<String> walk = new ArrayList<>();
+        Node n = null;
+        for (Map.Entry<Node, Integer> e : waiting.entrySet()) {
+            if (e.getValue() > 0) {
+                n = e.getKey();
+                break;
+            }
+        }
+        while (!seenAt.containsKey(n)) {
+            seenAt.put(n, walk.size());
+            walk.add(n.description);
+            Node current = n;
+            for (String dependency : current.task.getDependencies()) {
+                Node dep = nodes.get(dependency);
+                if (waiting.get(dep) > 0) {
+                    n = dep;
+                    break;
+                }
+            }
+        }
+        List<String> cycle = new ArrayList<>(walk.subList(seenAt.get(n), walk.size()));
+        cycle.add(n.description);
+        Collections.reverse(cycle);
+        return cycle;
+    }
+}
@@ -0,0 +1,41 @@
+package edu.course.eventplanner.service;
+
+import edu.course.eventplanner.model.Venue;
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The booking calendar of every venue, looked up by venue name so a venue keeps
+ * its bookings when the catalog is reloaded. Safe to share between threads:
+ * a venue's calendar is created by its first booking, so queries over a whole
+ * catalog store nothing, and each calendar books without locking.
+ */
+public class VenueAvailability {
+    // stands in for every venue that has never been booked; nothing is ever booked in it
+    private static final BookingCalendar NEVER_BOOKED = new BookingCalendar();
+
+    private final ConcurrentHashMap<String, BookingCalendar> calendars = new ConcurrentHashMap<>();
+
+    /**
+     * @return the venue's calendar, or null if the venue has never been booked
+     */
+    public BookingCalendar getCalendar(Venue venue) {
+        return calendars.get(venue.getName());
+    }
+
+    public boolean isAvailable(Venue venue, LocalDate first, LocalDate last) {
+        return calendars.getOrDefault(venue.getName(), NEVER_BOOKED).isAvailable(first, last);
+    }
+
+    /**
+     * @return true if this call booked the venue for those days
+     */
+    public boolean book(Venue venue, LocalDate first, LocalDate last) {
+        return calendars.computeIfAbsent(venue.getName(), k -> new BookingCalendar()).book(first, last);
+    }
+
+    public boolean cancel(Venue venue, LocalDate first, LocalDate last) {
+        BookingCalendar calendar = calendars.get(venue.getName());
+        return calendar != null && calendar.cancel(first, last);
+    }
+}
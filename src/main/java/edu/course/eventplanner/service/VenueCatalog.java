@@ -0,0 +1,231 @@
+package edu.course.eventplanner.service;
+
+import edu.course.eventplanner.model.Venue;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A venue catalog loaded from a file and reloaded whenever the file changes.
+ *
+ * Each load builds a new {@link VenueSelector} index off to the side, on a
+ * background thread, and then publishes it as an immutable {@link Snapshot}
+ * with one volatile write. Readers take the current snapshot without locking
+ * and keep using it for as long as they like, so a selection already running
+ * finishes on the old catalog and never waits for a reload. A file that fails
+ * to parse (for example while it is still being written) leaves the previous
+ * snapshot in place.
+ *
+ * The file has one venue per line:
+ * {@code name,cost,capacity,tables,seatsPerTable}, or
+ * {@code name,cost,capacity,6;8;10} to give the seats of each table.
+ * Blank lines, lines starting with {@code #} and a header line are skipped.
+ */
+public class VenueCatalog implements Closeable {
+
+    /**
+     * One version of the catalog and its selection index.
+     */
+    public static final class Snapshot {
+        private final List<Venue> venues;
+        private final VenueSelector selector;
+        private final long version;
+
+        Snapshot(List<Venue> venues, long version) {
+            this.venues = Collections.unmodifiableList(venues);
+            this.selector = new VenueSelector(venues);
+            this.version = version;
+        }
+
+        public List<Venue> getVenues() { return venues; }
+        public VenueSelector getSelector() { return selector; }
+        /** Goes up by one with every successful load, starting at 1. */
+        public long getVersion() { return version; }
+    }
+
+    private final Path file;
+    private volatile Snapshot current;
+    private volatile IOException lastError;
+
+    // Watching only; null until watch() is called
+    private WatchService watchService;
+    private Thread watcher;
+    private ExecutorService rebuilder;
+    private final AtomicBoolean reloadPending = new AtomicBoolean();
+
+    private VenueCatalog(Path file) {
+        this.file = file.toAbsolutePath();
+    }
+
+    /**
+     * Loads a catalog without watching the file; call reload() to pick up changes.
+     *
+     * @throws IOException if the file cannot be read or a line is malformed
+     */
+    public static VenueCatalog load(Path file) throws IOException {
+        VenueCatalog catalog = new VenueCatalog(file);
+        catalog.reload();
+        return catalog;
+    }
+
+    /**
+     * Loads a catalog and reloads it in the background every time the file changes.
+     *
+     * @throws IOException if the file cannot be read or watched, or a line is malformed
+     */
+    public static VenueCatalog watch(Path file) throws IOException {
+        VenueCatalog catalog = load(file);
+        catalog.startWatching();
+        return catalog;
+    }
+
+    /**
+     * @return the catalog as last loaded; never null
+     */
+    public Snapshot getSnapshot() {
+        return current;
+    }
+
+    public VenueSelector getSelector() {
+        return current.getSelector();
+    }
+
+    /**
+     * Same as {@link VenueSelector#selectVenue(double, int)} on the current snapshot.
+     */
+    public Venue selectVenue(double budget, int guestCount) {
+        return current.getSelector().selectVenue(budget, guestCount);
+    }
+
+    /**
+     * @return why the last reload failed, or null if it succeeded
+     */
+    public IOException getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Reads the file again and publishes it as a new snapshot.
+     * On failure the current snapshot stays and the error is kept in getLastError().
+     *
+     * @throws IOException if the file cannot be read or a line is malformed
+     */
+    public synchronized void reload() throws IOException {
+        try {
+            List<Venue> venues = parse(Files.readAllLines(file, StandardCharsets.UTF_8));
+            Snapshot previous = current;
+            current = new Snapshot(venues, previous == null ? 1 : previous.getVersion() + 1);
+            lastError = null;
+        } catch (IOException e) {
+            lastError = e;
+            throw e;
+        }
+    }
+
+    private void startWatching() throws IOException {
+        Path directory = file.getParent();
+        watchService = directory.getFileSystem().newWatchService();
+        // editors often replace the file instead of writing it in place, so watch creation too
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        rebuilder = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "venue-catalog-rebuild");
+            t.setDaemon(true);
+            return t;
+        });
+        watcher = new Thread(this::watchLoop, "venue-catalog-watch");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private void watchLoop() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (file.getFileName().equals(event.context())
+                            || event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        scheduleReload();
+                    }
+                }
+                if (!key.reset()) {
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+
+    private void scheduleReload() {
+        // a burst of change events becomes one rebuild
+        if (reloadPending.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                reloadPending.set(false);
+                try {
+                    reload();
+                } catch (IOException e) {
+                    // kept in lastError; the previous snapshot stays published
+                }
+            });
+        }
+    }
+
+    /**
+     * Stops watching the file. The last snapshot can still be used.
+     */
+    @Override
+    public void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+            rebuilder.shutdownNow();
+        }
+    }
+
+    /**
+     * Parses catalog lines into venues.
+     *
+     * @throws IOException naming the first malformed line
+     */
+    static List<Venue> parse(List<String> lines) throws IOException {
+        List<Venue> venues = new ArrayList<>(lines.size());
+        boolean firstLine = true;
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            boolean header = firstLine;
+            firstLine = false;
+            String[] fields = line.split(",");
+            for (int f = 0; f < fields.length; f++) {
+                fields[f] = fields[f].trim();
+            }
+            try {
+                if (fields.length == 5) {
+                    venues.add(new Venue(fields[0], Double.parseDouble(fields[1]), Integer.parseInt(fields[2]),
+                            Integer.parseInt(fields[3]), Integer.parseInt(fields[4])));
+                } else if (fields.length == 4) {
+                    String[] tables = fields[3].split(";");
+                    int[] seats = new int[tables.length];
+                    for (int t = 0; t < tables.length; t++) {
+                        seats[t] = Integer.parseInt(tables[t].trim());
+                    }
+                    venues.add(new Venue(fields[0], Double.parseDouble(fields[1]), Integer.parseInt(fields[2]), seats));
+                } else {
+                    throw new NumberFormatException();
+                }
+            } catch (NumberFormatException e) {
+                if (header) {
+                    continue;
+                }
+                throw new IOException("Malformed venue on line " + (i + 1) + ": " + line);
+            }
+        }
+        return venues;
+    }
+}
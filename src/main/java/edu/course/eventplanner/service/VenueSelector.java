@@ -1,7 +1,10 @@
 package edu.course.eventplanner.service;
 
 import edu.course.eventplanner.model.Venue;
+import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
 
 /*
     1. Venue Selection (Budget-Aware)
@@ -24,25 +27,229 @@ import java.util.*;
     You must use a sorting algorithm or a Binary Search Tree to justify your choice.
 */
 public class VenueSelector {
-    private final List<Venue> venues;
+    // smallest batch that selectVenues spreads across cores
+    static final int PARALLEL_BATCH = 1 << 16;
 
+    // best venue first: lowest cost, then smallest capacity
+    static final Comparator<Venue> VENUE_ORDER = Comparator.comparingDouble(Venue::getCost)
+            .thenComparingInt(Venue::getCapacity);
+
+    /**
+     * Ranks a venue for a given number of guests; a lower score is better.
+     */
+    public interface VenueScore {
+        double score(Venue venue, int guestCount);
+
+        /**
+         * A weighted sum of the venue's cost, its empty seats (capacity minus
+         * guests) and its cost per seat.
+         */
+        static VenueScore weighted(double costWeight, double slackWeight, double costPerSeatWeight) {
+            return (venue, guestCount) -> costWeight * venue.getCost()
+                    + slackWeight * (venue.getCapacity() - guestCount)
+                    + costPerSeatWeight * (venue.getCapacity() > 0 ? venue.getCost() / venue.getCapacity() : venue.getCost());
+        }
+    }
+
+    // venues sorted by capacity (stable, so equal venues keep their list order)
+    private final Venue[] byCapacity;
+    private final int[] capacities;
+    // bestFrom[i]: the best venue among byCapacity[i..], the earliest one on a tie
+    private final Venue[] bestFrom;
+
+    /**
+     * Indexes the venues once, so each selection is a binary search.
+     * Later changes to the list are not seen.
+     */
     public VenueSelector(List<Venue> venues) {
-        this.venues = venues;
+        byCapacity = venues.toArray(new Venue[0]);
+        Arrays.sort(byCapacity, Comparator.comparingInt(Venue::getCapacity));
+        capacities = new int[byCapacity.length];
+        bestFrom = new Venue[byCapacity.length];
+        for (int i = byCapacity.length - 1; i >= 0; i--) {
+            capacities[i] = byCapacity[i].getCapacity();
+            Venue next = i + 1 < byCapacity.length ? bestFrom[i + 1] : null;
+            bestFrom[i] = next == null || VENUE_ORDER.compare(byCapacity[i], next) <= 0 ? byCapacity[i] : next;
+        }
     }
 
+    /**
+     * Selects the cheapest venue that fits, breaking ties with the smallest capacity.
+     * O(log n) and allocation-free: every venue with room for the guests is at or
+     * after the first one with enough capacity, and bestFrom already holds the
+     * cheapest of those, so it is the answer if it is within budget.
+     *
+     * @return the best venue, or null if none fits the budget and guest count
+     */
     public Venue selectVenue(double budget, int guestCount) {
-        Comparator<Venue> venueComparator = Comparator.comparingDouble(Venue::getCost)
-                .thenComparingInt(Venue::getCapacity);
-        TreeSet<Venue> validVenues = new TreeSet<>(venueComparator);
+        int first = firstWithCapacity(guestCount);
+        if (first == byCapacity.length) {
+            return null;
+        }
+        Venue best = bestFrom[first];
+        return best.getCost() <= budget ? best : null;
+    }
 
-        for (Venue venue : venues) {
-            if (venue.getCost() <= budget && venue.getCapacity() >= guestCount) {
-                validVenues.add(venue);
+    /**
+     * Selects the best venue that fits and is free on every day from first to last.
+     * Scans the venues with enough capacity and within budget, checking each
+     * one's calendar in O(log b) for b bookings.
+     *
+     * @return the best free venue, or null if none fits
+     */
+    public Venue selectVenue(double budget, int guestCount, LocalDate first, LocalDate last,
+                             VenueAvailability availability) {
+        Venue best = null;
+        for (int i = firstWithCapacity(guestCount); i < byCapacity.length; i++) {
+            Venue v = byCapacity[i];
+            if (v.getCost() <= budget && (best == null || VENUE_ORDER.compare(v, best) < 0)
+                    && availability.isAvailable(v, first, last)) {
+                best = v;
             }
         }
-        if (validVenues.isEmpty()) {
-            return null;
+        return best;
+    }
+
+    /**
+     * Selects the best free venue as above and books it. If another planner
+     * books it first, the next best free venue is tried.
+     *
+     * @return the venue now booked for those days, or null if none fits
+     */
+    public Venue bookVenue(double budget, int guestCount, LocalDate first, LocalDate last,
+                           VenueAvailability availability) {
+        while (true) {
+            Venue v = selectVenue(budget, guestCount, first, last, availability);
+            if (v == null || availability.book(v, first, last)) {
+                return v;
+            }
+        }
+    }
+
+    /**
+     * Lists up to k venues that fit, best first, in the order selectVenue uses:
+     * lowest cost, then smallest capacity.
+     */
+    public List<Venue> topVenues(double budget, int guestCount, int k) {
+        return topVenuesBy(budget, guestCount, k, VENUE_ORDER);
+    }
+
+    /**
+     * Lists up to k venues that fit, lowest score first; ties go to the lower cost,
+     * then the smaller capacity.
+     */
+    public List<Venue> topVenues(double budget, int guestCount, int k, VenueScore score) {
+        return topVenuesBy(budget, guestCount, k, Comparator
+                .comparingDouble((Venue v) -> score.score(v, guestCount))
+                .thenComparing(VENUE_ORDER));
+    }
+
+    /**
+     * Lists up to k venues that do not fit, those that miss by the least first.
+     * A venue misses by the share of the budget it is over plus the share of the
+     * guests it cannot hold, so it can be offered when nothing fits.
+     */
+    public List<Venue> nearestMisses(double budget, int guestCount, int k) {
+        Comparator<Venue> byMiss = Comparator
+                .comparingDouble((Venue v) -> miss(v, budget, guestCount))
+                .thenComparing(VENUE_ORDER);
+        return best(k, byMiss, 0, v -> v.getCost() > budget || v.getCapacity() < guestCount);
+    }
+
+    private List<Venue> topVenuesBy(double budget, int guestCount, int k, Comparator<Venue> order) {
+        // only venues from the first with enough capacity on can fit
+        return best(k, order, firstWithCapacity(guestCount), v -> v.getCost() <= budget);
+    }
+
+    /**
+     * Keeps the k best matching venues from byCapacity[from..] in a bounded heap
+     * whose head is the worst kept, so the catalog is scanned once and never sorted.
+     * O(m log k) for m venues scanned.
+     */
+    private List<Venue> best(int k, Comparator<Venue> order, int from, Predicate<Venue> matches) {
+        if (k <= 0) {
+            return new ArrayList<>();
+        }
+        PriorityQueue<Venue> kept = new PriorityQueue<>(Math.min(k, byCapacity.length) + 1, order.reversed());
+        for (int i = from; i < byCapacity.length; i++) {
+            Venue v = byCapacity[i];
+            if (!matches.test(v)) {
+                continue;
+            }
+            if (kept.size() < k) {
+                kept.add(v);
+            } else if (order.compare(v, kept.peek()) < 0) {
+                kept.poll();
+                kept.add(v);
+            }
+        }
+        List<Venue> result = new ArrayList<>(kept);
+        result.sort(order);
+        return result;
+    }
+
+    private static double miss(Venue v, double budget, int guestCount) {
+        double overBudget = v.getCost() <= budget ? 0 : (v.getCost() - budget) / Math.max(budget, 1);
+        double tooSmall = v.getCapacity() >= guestCount ? 0 : (double) (guestCount - v.getCapacity()) / Math.max(guestCount, 1);
+        return overBudget + tooSmall;
+    }
+
+    /**
+     * Answers many selections at once; result i is
+     * {@code selectVenue(budgets[i], guestCounts[i])}.
+     * The queries are sorted by guest count and swept together with the venues
+     * in capacity order, so the whole batch takes O(q log q + n) after the
+     * index is built. Batches of at least PARALLEL_BATCH queries are instead
+     * split across cores, each query doing its own binary search.
+     *
+     * @throws IllegalArgumentException if the arrays have different lengths
+     */
+    public Venue[] selectVenues(double[] budgets, int[] guestCounts) {
+        if (budgets.length != guestCounts.length) {
+            throw new IllegalArgumentException("Budgets and guest counts differ in length");
+        }
+        int q = budgets.length;
+        Venue[] selected = new Venue[q];
+        if (q >= PARALLEL_BATCH) {
+            IntStream.range(0, q).parallel()
+                    .forEach(i -> selected[i] = selectVenue(budgets[i], guestCounts[i]));
+            return selected;
+        }
+
+        // (guest count, query index) packed so one primitive sort orders the queries
+        long[] order = new long[q];
+        for (int i = 0; i < q; i++) {
+            order[i] = ((long) guestCounts[i] << 32) | i;
+        }
+        Arrays.sort(order);
+        int first = 0;
+        for (long packed : order) {
+            int i = (int) packed;
+            // guest counts only go up, so the first venue that fits only moves forward
+            while (first < capacities.length && capacities[first] < guestCounts[i]) {
+                first++;
+            }
+            if (first < capacities.length && bestFrom[first].getCost() <= budgets[i]) {
+                selected[i] = bestFrom[first];
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * @return the index of the first venue in byCapacity with at least that capacity
+     */
+    private int firstWithCapacity(int guestCount) {
+        int lo = 0;
+        int hi = capacities.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (capacities[mid] < guestCount) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
         }
-        return validVenues.first();
+        return lo;
     }
 }
@@ -0,0 +1,488 @@
+package edu.course.eventplanner.util;
+
+import edu.course.eventplanner.model.Guest;
+import edu.course.eventplanner.service.GuestListManager;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Bulk loader for RSVP exports.
+ *
+ * Reads CSV ({@code name,groupTag}, optional header row and byte order mark,
+ * double-quoted fields) or
+ * JSON Lines ({@code {"name": "...", "groupTag": "..."}}) straight out of a
+ * memory-mapped window of the file, one window at a time, so files larger
+ * than memory are fine. Fields are copied into one reused byte buffer; only
+ * the guest name becomes a new String, and each distinct group tag is
+ * decoded once and shared.
+ *
+ * Bad lines and names already on the list are counted and skipped instead
+ * of stopping the import.
+ */
+public class GuestImporter {
+    public static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+    private static final int BATCH_SIZE = 10_000;
+    private static final int MAX_REPORTED_LINES = 100;
+
+    /**
+     * Outcome of one import.
+     */
+    public static class Report {
+        private long rows;
+        private long imported;
+        private long malformed;
+        private long duplicates;
+        private long elapsedNanos;
+        private final List<Long> malformedLineNumbers = new ArrayList<>();
+
+        public long getRows() { return rows; }
+        public long getImported() { return imported; }
+        public long getMalformed() { return malformed; }
+        public long getDuplicates() { return duplicates; }
+        public long getElapsedNanos() { return elapsedNanos; }
+        /** Line numbers (from 1) of the first malformed lines, up to 100 of them. */
+        public List<Long> getMalformedLineNumbers() { return malformedLineNumbers; }
+
+        public double getRowsPerSecond() {
+            return elapsedNanos == 0 ? 0 : rows * 1_000_000_000.0 / elapsedNanos;
+        }
+    }
+
+    // Group tag cache key over the scratch buffer, so lookups need no allocation
+    private static final class TagKey {
+        byte[] bytes;
+        int length;
+        int hash;
+
+        TagKey set(byte[] bytes, int length) {
+            this.bytes = bytes;
+            this.length = length;
+            int h = 1;
+            for (int i = 0; i < length; i++) {
+                h = 31 * h + bytes[i];
+            }
+            this.hash = h;
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TagKey k
+                    && Arrays.equals(bytes, 0, length, k.bytes, 0, k.length);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private final int windowSize;
+
+    public GuestImporter() {
+        this(DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * @param windowSize how many bytes of the file to map at a time
+     */
+    public GuestImporter(int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size must be positive");
+        }
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Imports every guest in the file into the manager.
+     * Files ending in .jsonl or .json are read as JSON Lines, anything else as CSV.
+     *
+     * @param file the export to read
+     * @param manager the guest list to add to
+     * @return counts of rows read, guests imported, malformed lines and duplicates
+     * @throws IOException if the file cannot be read
+     */
+    public Report importGuests(Path file, GuestListManager manager) throws IOException {
+        String fileName = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        boolean json = fileName.endsWith(".jsonl") || fileName.endsWith(".json");
+        return new Run(manager, json).read(file);
+    }
+
+    // State of a single import; not shared between calls
+    private final class Run {
+        private final GuestListManager manager;
+        private final boolean json;
+        private final Report report = new Report();
+        private final Map<TagKey, String> tags = new HashMap<>();
+        private final TagKey probe = new TagKey();
+        private final Set<String> seen = new HashSet<>();
+        private final List<Guest> batch = new ArrayList<>(BATCH_SIZE);
+        private byte[] scratch = new byte[256];
+        private int scratchLength;
+        private String name;
+        private String groupTag;
+        private long lineNumber;
+
+        Run(GuestListManager manager, boolean json) {
+            this.manager = manager;
+            this.json = json;
+        }
+
+        Report read(Path file) throws IOException {
+            long start = System.nanoTime();
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long size = channel.size();
+                long position = 0;
+                int window = windowSize;
+                while (position < size) {
+                    long length = Math.min(window, size - position);
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                    boolean lastWindow = position + length == size;
+                    int consumed = readLines(buffer, (int) length, lastWindow);
+                    if (consumed == 0) {
+                        // a single line longer than the window: map a bigger one
+                        window = (int) Math.min(Integer.MAX_VALUE, (long) window * 2);
+                        continue;
+                    }
+                    position += consumed;
+                }
+            }
+            flush();
+            report.elapsedNanos = System.nanoTime() - start;
+            return report;
+        }
+
+        /**
+         * Parses every complete line in the window.
+         * @return the number of bytes consumed
+         */
+        private int readLines(MappedByteBuffer buffer, int length, boolean lastWindow) {
+            int lineStart = 0;
+            for (int i = 0; i < length; i++) {
+                if (buffer.get(i) == '\n') {
+                    line(buffer, lineStart, i);
+                    lineStart = i + 1;
+                }
+            }
+            if (lastWindow && lineStart < length) {
+                line(buffer, lineStart, length);
+                lineStart = length;
+            }
+            return lineStart;
+        }
+
+        private void line(MappedByteBuffer buffer, int start, int end) {
+            lineNumber++;
+            if (end > start && buffer.get(end - 1) == '\r') {
+                end--;
+            }
+            if (lineNumber == 1 && end - start >= 3 && buffer.get(start) == (byte) 0xEF
+                    && buffer.get(start + 1) == (byte) 0xBB && buffer.get(start + 2) == (byte) 0xBF) {
+                start += 3; // UTF-8 byte order mark, which Excel writes by default
+            }
+            if (isBlank(buffer, start, end)) {
+                return;
+            }
+            name = null;
+            groupTag = null;
+            boolean parsed = json ? parseJson(buffer, start, end) : parseCsv(buffer, start, end);
+            if (!json && lineNumber == 1 && parsed && isHeader()) {
+                return;
+            }
+            report.rows++;
+            if (!parsed || name == null || groupTag == null || name.isBlank() || groupTag.isBlank()) {
+                report.malformed++;
+                if (report.malformedLineNumbers.size() < MAX_REPORTED_LINES) {
+                    report.malformedLineNumbers.add(lineNumber);
+                }
+                return;
+            }
+            if (!seen.add(name) || manager.findGuest(name) != null) {
+                report.duplicates++;
+                return;
+            }
+            batch.add(new Guest(name, groupTag));
+            if (batch.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        /** A header row names both columns, so a guest who is really called "Name" is still imported. */
+        private boolean isHeader() {
+            return name.equalsIgnoreCase("name") && groupTag != null
+                    && (groupTag.equalsIgnoreCase("groupTag") || groupTag.equalsIgnoreCase("group"));
+        }
+
+        private void flush() {
+            manager.addGuests(batch);
+            report.imported += batch.size();
+            seen.clear();
+            batch.clear();
+        }
+
+        // ---- CSV ----
+
+        private boolean parseCsv(MappedByteBuffer buffer, int start, int end) {
+            int pos = csvField(buffer, start, end);
+            if (pos < 0) {
+                return false;
+            }
+            name = decodeScratch();
+            if (pos >= end || buffer.get(pos) != ',') {
+                return false;
+            }
+            pos = csvField(buffer, pos + 1, end);
+            if (pos < 0) {
+                return false;
+            }
+            groupTag = scratchAsTag();
+            // any further columns are ignored
+            return pos >= end || buffer.get(pos) == ',';
+        }
+
+        /**
+         * Copies one trimmed field into the scratch buffer.
+         * @return the position just after the field, or -1 if a quote is not closed
+         */
+        private int csvField(MappedByteBuffer buffer, int pos, int end) {
+            scratchLength = 0;
+            while (pos < end && buffer.get(pos) == ' ') {
+                pos++;
+            }
+            if (pos < end && buffer.get(pos) == '"') {
+                pos++;
+                while (true) {
+                    if (pos >= end) {
+                        return -1;
+                    }
+                    byte b = buffer.get(pos++);
+                    if (b == '"') {
+                        if (pos < end && buffer.get(pos) == '"') {
+                            pos++;
+                        } else {
+                            break;
+                        }
+                    }
+                    append(b);
+                }
+                while (pos < end && buffer.get(pos) == ' ') {
+                    pos++;
+                }
+                return pos;
+            }
+            while (pos < end && buffer.get(pos) != ',') {
+                append(buffer.get(pos++));
+            }
+            while (scratchLength > 0 && scratch[scratchLength - 1] == ' ') {
+                scratchLength--;
+            }
+            return pos;
+        }
+
+        // ---- JSON Lines ----
+
+        private boolean parseJson(MappedByteBuffer buffer, int start, int end) {
+            int pos = skipSpace(buffer, start, end);
+            if (pos >= end || buffer.get(pos) != '{') {
+                return false;
+            }
+            pos = skipSpace(buffer, pos + 1, end);
+            if (pos < end && buffer.get(pos) == '}') {
+                return skipSpace(buffer, pos + 1, end) == end;
+            }
+            while (true) {
+                pos = jsonString(buffer, pos, end);
+                if (pos < 0) {
+                    return false;
+                }
+                int field = fieldOf();
+                pos = skipSpace(buffer, pos, end);
+                if (pos >= end || buffer.get(pos) != ':') {
+                    return false;
+                }
+                pos = skipSpace(buffer, pos + 1, end);
+                if (pos < end && buffer.get(pos) == '"') {
+                    pos = jsonString(buffer, pos, end);
+                    if (pos < 0) {
+                        return false;
+                    }
+                    if (field == 1) {
+                        name = decodeScratch();
+                    } else if (field == 2) {
+                        groupTag = scratchAsTag();
+                    }
+                } else {
+                    // number, true, false or null; nested values are not supported
+                    while (pos < end && buffer.get(pos) != ',' && buffer.get(pos) != '}') {
+                        byte b = buffer.get(pos++);
+                        if (b == '{' || b == '[' || b == '"') {
+                            return false;
+                        }
+                    }
+                }
+                pos = skipSpace(buffer, pos, end);
+                if (pos >= end) {
+                    return false;
+                }
+                byte b = buffer.get(pos);
+                if (b == '}') {
+                    return skipSpace(buffer, pos + 1, end) == end;
+                }
+                if (b != ',') {
+                    return false;
+                }
+                pos = skipSpace(buffer, pos + 1, end);
+            }
+        }
+
+        /** 1 for a name key, 2 for a group key, 0 for anything else. */
+        private int fieldOf() {
+            if (scratchIs("name")) {
+                return 1;
+            }
+            if (scratchIs("groupTag") || scratchIs("group")) {
+                return 2;
+            }
+            return 0;
+        }
+
+        /**
+         * Copies one JSON string, with escapes resolved, into the scratch buffer.
+         * @return the position just after the closing quote, or -1 if it is not a valid string
+         */
+        private int jsonString(MappedByteBuffer buffer, int pos, int end) {
+            scratchLength = 0;
+            if (pos >= end || buffer.get(pos) != '"') {
+                return -1;
+            }
+            pos++;
+            while (pos < end) {
+                byte b = buffer.get(pos++);
+                if (b == '"') {
+                    return pos;
+                }
+                if (b != '\\') {
+                    append(b);
+                    continue;
+                }
+                if (pos >= end) {
+                    return -1;
+                }
+                byte e = buffer.get(pos++);
+                switch (e) {
+                    case '"', '\\', '/' -> append(e);
+                    case 'b' -> append((byte) '\b');
+                    case 'f' -> append((byte) '\f');
+                    case 'n' -> append((byte) '\n');
+                    case 'r' -> append((byte) '\r');
+                    case 't' -> append((byte) '\t');
+                    case 'u' -> {
+                        int c = hex4(buffer, pos, end);
+                        if (c < 0) {
+                            return -1;
+                        }
+                        pos += 4;
+                        if (Character.isHighSurrogate((char) c)) {
+                            // characters outside the BMP come as a pair of escapes
+                            int low = pos + 6 <= end && buffer.get(pos) == '\\' && buffer.get(pos + 1) == 'u'
+                                    ? hex4(buffer, pos + 2, end) : -1;
+                            if (low < 0 || !Character.isLowSurrogate((char) low)) {
+                                return -1;
+                            }
+                            pos += 6;
+                            c = Character.toCodePoint((char) c, (char) low);
+                        } else if (Character.isLowSurrogate((char) c)) {
+                            return -1;
+                        }
+                        appendUtf8(c);
+                    }
+                    default -> {
+                        return -1;
+                    }
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * @return the value of four hex digits at pos, or -1 if they are missing or not hex
+         */
+        private int hex4(MappedByteBuffer buffer, int pos, int end) {
+            if (pos + 4 > end) {
+                return -1;
+            }
+            int c = 0;
+            for (int i = 0; i < 4; i++) {
+                int d = Character.digit(buffer.get(pos + i), 16);
+                if (d < 0) {
+                    return -1;
+                }
+                c = c * 16 + d;
+            }
+            return c;
+        }
+
+        // ---- scratch buffer ----
+
+        private void append(byte b) {
+            if (scratchLength == scratch.length) {
+                scratch = Arrays.copyOf(scratch, scratch.length * 2);
+            }
+            scratch[scratchLength++] = b;
+        }
+
+        private void appendUtf8(int codePoint) {
+            for (byte b : Character.toString(codePoint).getBytes(StandardCharsets.UTF_8)) {
+                append(b);
+            }
+        }
+
+        private boolean scratchIs(String ascii) {
+            if (scratchLength != ascii.length()) {
+                return false;
+            }
+            for (int i = 0; i < scratchLength; i++) {
+                if (scratch[i] != ascii.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private String decodeScratch() {
+            return new String(scratch, 0, scratchLength, StandardCharsets.UTF_8);
+        }
+
+        /** Returns the shared String for the tag in the scratch buffer, decoding it only once. */
+        private String scratchAsTag() {
+            String tag = tags.get(probe.set(scratch, scratchLength));
+            if (tag == null) {
+                tag = decodeScratch();
+                TagKey key = new TagKey().set(Arrays.copyOf(scratch, scratchLength), scratchLength);
+                tags.put(key, tag);
+            }
+            return tag;
+        }
+
+        private int skipSpace(MappedByteBuffer buffer, int pos, int end) {
+            while (pos < end) {
+                byte b = buffer.get(pos);
+                if (b != ' ' && b != '\t') {
+                    break;
+                }
+                pos++;
+            }
+            return pos;
+        }
+
+        private boolean isBlank(MappedByteBuffer buffer, int start, int end) {
+            return skipSpace(buffer, start, end) == end;
+        }
+    }
+}
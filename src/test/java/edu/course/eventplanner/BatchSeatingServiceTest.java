@@ -0,0 +1,62 @@
+package edu.course.eventplanner;
+
+import edu.course.eventplanner.model.Guest;
+import edu.course.eventplanner.model.Venue;
+import edu.course.eventplanner.service.BatchSeatingService;
+import edu.course.eventplanner.service.SeatingPlanner;
+import edu.course.eventplanner.util.Generators;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchSeatingServiceTest {
+
+    private static List<BatchSeatingService.Request> season() {
+        List<BatchSeatingService.Request> requests = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Venue venue = Generators.generateVenues().get(i % 3);
+            // every tenth event has more guests than its venue seats
+            int guestCount = i % 10 == 9 ? venue.getTables() * venue.getSeatsPerTable() + 1 : 10 + i % 25;
+            requests.add(new BatchSeatingService.Request(venue, Generators.GenerateGuests(guestCount)));
+        }
+        return requests;
+    }
+
+    @Test
+    void planAll_collectsFailuresAndKeepsGoing() throws InterruptedException {
+        List<BatchSeatingService.Request> requests = season();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        List<BatchSeatingService.Result> results;
+        try {
+            results = new BatchSeatingService(pool).planAll(requests);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(requests.size(), results.size());
+        for (int i = 0; i < results.size(); i++) {
+            BatchSeatingService.Result r = results.get(i);
+            assertEquals(i, r.getIndex());
+            if (i % 10 == 9) {
+                assertFalse(r.isSuccess());
+                assertInstanceOf(IllegalStateException.class, r.getError());
+                assertEquals("Not enough seats for all guests", r.getError().getMessage());
+            } else {
+                assertTrue(r.isSuccess());
+                BatchSeatingService.Request q = requests.get(i);
+                assertEquals(new SeatingPlanner(q.getVenue()).generateSeating(q.getGuests()), r.getSeating());
+            }
+        }
+    }
+
+    @Test
+    void planAll_callbackSeesEveryResultOnce() throws InterruptedException {
+        List<BatchSeatingService.Request> requests = season();
+        Set<Integer> seen = new HashSet<>();
+        new BatchSeatingService().planAll(requests, r -> assertTrue(seen.add(r.getIndex())));
+        assertEquals(requests.size(), seen.size());
+    }
+}
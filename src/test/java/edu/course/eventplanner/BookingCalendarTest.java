@@ -0,0 +1,94 @@
+package edu.course.eventplanner;
+
+import edu.course.eventplanner.model.*;
+import edu.course.eventplanner.service.*;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingCalendarTest {
+    private static final LocalDate JUNE_1 = LocalDate.of(2026, 6, 1);
+
+    @Test
+    void book_rejectsOverlaps_andAllowsAdjacentDays() {
+        BookingCalendar calendar = new BookingCalendar();
+        assertTrue(calendar.book(JUNE_1, JUNE_1.plusDays(2)));
+
+        assertFalse(calendar.book(JUNE_1.plusDays(2), JUNE_1.plusDays(4)));
+        assertFalse(calendar.book(JUNE_1.minusDays(3), JUNE_1));
+        assertFalse(calendar.isAvailable(JUNE_1.minusDays(10), JUNE_1.plusDays(10)));
+        assertTrue(calendar.book(JUNE_1.plusDays(3), JUNE_1.plusDays(3)));
+        assertTrue(calendar.book(JUNE_1.minusDays(1), JUNE_1.minusDays(1)));
+        assertEquals(3, calendar.getBookingCount());
+
+        assertFalse(calendar.cancel(JUNE_1, JUNE_1));
+        assertTrue(calendar.cancel(JUNE_1, JUNE_1.plusDays(2)));
+        assertTrue(calendar.isAvailable(JUNE_1, JUNE_1.plusDays(2)));
+        assertThrows(IllegalArgumentException.class, () -> calendar.book(JUNE_1, JUNE_1.minusDays(1)));
+    }
+
+    @Test
+    void concurrentBooking_neverDoubleBooks() throws Exception {
+        BookingCalendar calendar = new BookingCalendar();
+        int threads = 8;
+        AtomicInteger booked = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            futures.add(pool.submit(() -> {
+                start.await();
+                // every thread tries every two-day slot, starting at a different day
+                for (int day = 0; day < 365; day++) {
+                    LocalDate first = JUNE_1.plusDays((day + offset) % 365);
+                    if (calendar.book(first, first.plusDays(1))) {
+                        booked.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get();
+        }
+        pool.shutdown();
+
+        assertEquals(booked.get(), calendar.getBookingCount());
+        // no two bookings share a day
+        int daysTaken = 0;
+        for (int day = -1; day < 367; day++) {
+            LocalDate d = JUNE_1.plusDays(day);
+            if (!calendar.isAvailable(d, d)) {
+                daysTaken++;
+            }
+        }
+        assertEquals(2 * booked.get(), daysTaken);
+    }
+
+    @Test
+    void selectVenue_skipsBookedVenues() {
+        Venue hall = new Venue("Community Hall", 1500, 40, 5, 8);
+        Venue garden = new Venue("Garden Hall", 2500, 60, 8, 8);
+        VenueSelector selector = new VenueSelector(List.of(hall, garden));
+        VenueAvailability availability = new VenueAvailability();
+
+        assertSame(hall, selector.selectVenue(3000, 30, JUNE_1, JUNE_1, availability));
+        // looking is free: only booking creates a calendar
+        assertNull(availability.getCalendar(hall));
+        assertNull(availability.getCalendar(garden));
+
+        assertSame(hall, selector.bookVenue(3000, 30, JUNE_1, JUNE_1, availability));
+        assertSame(garden, selector.selectVenue(3000, 30, JUNE_1, JUNE_1, availability));
+        assertNull(availability.getCalendar(garden));
+        assertSame(hall, selector.selectVenue(3000, 30, JUNE_1.plusDays(1), JUNE_1.plusDays(1), availability));
+        assertSame(garden, selector.bookVenue(3000, 30, JUNE_1, JUNE_1, availability));
+        assertNull(selector.bookVenue(3000, 30, JUNE_1, JUNE_1, availability));
+    }
+}
@@ -0,0 +1,73 @@
+package edu.course.eventplanner;
+
+import edu.course.eventplanner.model.Guest;
+import edu.course.eventplanner.model.Venue;
+import edu.course.eventplanner.service.CompactGuestStore;
+import edu.course.eventplanner.service.SeatingPlanner;
+import edu.course.eventplanner.util.Generators;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactGuestStoreTest {
+
+    @Test
+    void addFindRemove_behavesLikeGuestListManager() {
+        CompactGuestStore store = new CompactGuestStore();
+        store.addGuest(new Guest("Alice", "family"));
+        store.addGuest(new Guest("Bob", "friends"));
+        store.addGuest(new Guest("Carol", "family"));
+        store.addGuest(new Guest("Bob", "coworkers"));
+
+        assertEquals(3, store.getGuestCount());
+        assertEquals("coworkers", store.findGuest("Bob").getGroupTag());
+        assertTrue(store.removeGuest("Alice"));
+        assertFalse(store.removeGuest("Alice"));
+        assertNull(store.findGuest("Alice"));
+
+        assertEquals(List.of("Bob", "Carol"),
+            store.getAllGuests().stream().map(Guest::getName).toList());
+        assertEquals(Map.of("coworkers", 1, "family", 1), store.getGroupCounts());
+    }
+
+    @Test
+    void heavyChurn_compactsAndKeepsOrder() {
+        CompactGuestStore store = new CompactGuestStore();
+        for (int i = 0; i < 1000; i++) {
+            store.addGuest("Guest" + i, "group" + (i % 7));
+        }
+        for (int i = 0; i < 1000; i += 3) {
+            assertTrue(store.removeGuest("Guest" + i));
+        }
+        store.addGuest("Guest0", "group0");
+
+        assertEquals(667, store.getGuestCount());
+        assertEquals("Guest1", store.getName(0));
+        assertEquals("Guest0", store.getName(store.getGuestCount() - 1));
+        assertNotNull(store.findGuest("Guest500"));
+        assertNull(store.findGuest("Guest501"));
+    }
+
+    @ParameterizedTest(name = "{0} guests")
+    @ValueSource(ints = {7, 40, 115})
+    void generateSeating_matchesListPlanner(int guestCount) {
+        Venue venue = new Venue("Grand Ballroom", 5000, 120, 15, 8);
+        SeatingPlanner planner = new SeatingPlanner(venue);
+        List<Guest> guests = Generators.GenerateGuests(guestCount);
+        CompactGuestStore store = new CompactGuestStore();
+        guests.forEach(store::addGuest);
+
+        Map<Integer, List<Guest>> expected = planner.generateSeating(guests);
+        int[] tableOfGuest = planner.generateSeating(store);
+
+        Map<String, Integer> expectedTable = new HashMap<>();
+        expected.forEach((table, seated) -> seated.forEach(g -> expectedTable.put(g.getName(), table)));
+        for (int i = 0; i < guestCount; i++) {
+            assertEquals(expectedTable.get(store.getName(i)), tableOfGuest[i]);
+        }
+    }
+}
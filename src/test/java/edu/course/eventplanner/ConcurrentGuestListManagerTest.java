@@ -0,0 +1,64 @@
+package edu.course.eventplanner;
+
+import edu.course.eventplanner.model.Guest;
+import edu.course.eventplanner.service.ConcurrentGuestListManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentGuestListManagerTest {
+
+    @Test
+    void addFindRemove_behavesLikeGuestListManager() {
+        ConcurrentGuestListManager manager = new ConcurrentGuestListManager();
+        manager.addGuest(new Guest("A", "family"));
+        manager.addGuest(new Guest("B", "friends"));
+        manager.addGuest(new Guest("C", "family"));
+
+        assertEquals("friends", manager.findGuest("B").getGroupTag());
+        assertTrue(manager.removeGuest("B"));
+        assertFalse(manager.removeGuest("B"));
+        assertNull(manager.findGuest("B"));
+
+        List<Guest> all = manager.getAllGuests();
+        assertEquals(2, manager.getGuestCount());
+        assertEquals("A", all.get(0).getName());
+        assertEquals("C", all.get(1).getName());
+    }
+
+    @ParameterizedTest(name = "{0} writer threads")
+    @ValueSource(ints = {2, 8})
+    void parallelWriters_allGuestsRegistered(int threads) throws Exception {
+        ConcurrentGuestListManager manager = new ConcurrentGuestListManager();
+        int perThread = 2_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int feed = t;
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    manager.addGuest(new Guest("Feed" + feed + "-" + i, "family"));
+                    // every other guest cancels straight away
+                    if (i % 2 == 1) {
+                        manager.removeGuest("Feed" + feed + "-" + i);
+                    }
+                }
+            }));
+        }
+        for (Future<?> f : futures) {
+            f.get();
+        }
+        pool.shutdown();
+
+        int expected = threads * perThread / 2;
+        assertEquals(expected, manager.getGuestCount());
+        assertEquals(expected, manager.getAllGuests().size());
+        assertNotNull(manager.findGuest("Feed0-0"));
+        assertNull(manager.findGuest("Feed0-1"));
+    }
+}
@@ -0,0 +1,126 @@
+package edu.course.eventplanner;
+
+import edu.course.eventplanner.model.Task;
+import edu.course.eventplanner.service.ConcurrentTaskManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentTaskManagerTest {
+
+    @Test
+    void executeAndUndo_behaveLikeTaskManager_butUndoRequeues() {
+        ConcurrentTaskManager manager = new ConcurrentTaskManager();
+        manager.addTask(new Task("Task 1"));
+        manager.addTask(new Task("Task 2"));
+        manager.addTask(new Task("Task 3"));
+
+        assertEquals("Task 1", manager.executeNextTask().getDescription());
+        assertEquals("Task 2", manager.executeNextTask().getDescription());
+        assertEquals("Task 2", manager.undoLastTask().getDescription());
+        assertEquals(2, manager.remainingTaskCount());
+        assertEquals("Task 2", manager.executeNextTask().getDescription());
+        assertEquals("Task 3", manager.executeNextTask().getDescription());
+        assertNull(manager.executeNextTask());
+        assertEquals(3, manager.getCompletedTasks().size());
+    }
+
+    @ParameterizedTest(name = "{0} workers")
+    @ValueSource(ints = {2, 8})
+    void parallelWorkers_claimEachTaskOnce(int workers) throws Exception {
+        ConcurrentTaskManager manager = new ConcurrentTaskManager(100_000);
+        int taskCount = 20_000;
+        for (int i = 0; i < taskCount; i++) {
+            manager.addTask(new Task("Task " + i));
+        }
+        // net claims per task: +1 on execute, -1 when undone (by any worker)
+        Map<String, Integer> claims = new ConcurrentHashMap<>();
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < workers; w++) {
+            int worker = w;
+            futures.add(pool.submit(() -> {
+                Task task;
+                int n = 0;
+                while ((task = manager.executeNextTask()) != null) {
+                    claims.merge(task.getDescription(), 1, Integer::sum);
+                    // now and then undo the last executed task; some worker claims it again
+                    if (++n % 7 == worker % 7) {
+                        Task undone = manager.undoLastTask();
+                        if (undone != null) {
+                            claims.merge(undone.getDescription(), -1, Integer::sum);
+                        }
+                    }
+                }
+            }));
+        }
+        for (Future<?> f : futures) {
+            f.get();
+        }
+        pool.shutdown();
+
+        assertEquals(0, manager.remainingTaskCount());
+        assertEquals(taskCount, manager.getCompletedTasks().size());
+        assertEquals(taskCount, claims.size());
+        for (Map.Entry<String, Integer> e : claims.entrySet()) {
+            assertEquals(1, e.getValue(), e.getKey());
+        }
+    }
+
+    @Test
+    void undoWhileOthersExecute_neverLetsALaterTaskJumpTheQueue() throws Exception {
+        int taskCount = 20_000;
+        ConcurrentTaskManager manager = new ConcurrentTaskManager(taskCount);
+        for (int i = 1; i <= taskCount; i++) {
+            manager.addTask(new Task("Task " + i));
+        }
+        while (manager.executeNextTask() != null) {
+            // run everything, so there is a full history to undo
+        }
+
+        // one thread undoes while another executes; an undone task must be back
+        // at the head of the queue before anyone can claim the task after it
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        Future<?> undo = pool.submit(() -> {
+            for (int i = 0; i < taskCount; i++) {
+                manager.undoLastTask();
+            }
+        });
+        Future<?> execute = pool.submit(() -> {
+            for (int i = 0; i < taskCount / 2; i++) {
+                manager.executeNextTask();
+            }
+        });
+        undo.get();
+        execute.get();
+        pool.shutdown();
+
+        // executed tasks are still exactly the first ones, and the rest run in order
+        List<Task> completed = manager.getCompletedTasks();
+        for (int i = 0; i < completed.size(); i++) {
+            assertEquals("Task " + (i + 1), completed.get(i).getDescription());
+        }
+        assertEquals(taskCount - completed.size(), manager.remainingTaskCount());
+        for (int i = completed.size() + 1; i <= taskCount; i++) {
+            assertEquals("Task " + i, manager.executeNextTask().getDescription());
+        }
+        assertNull(manager.executeNextTask());
+    }
+
+    @Test
+    void history_keepsOnlyUndoDepthTasks() {
+        ConcurrentTaskManager manager = new ConcurrentTaskManager(3);
+        for (int i = 1; i <= 10; i++) {
+            manager.addTask(new Task("Task " + i));
+            manager.executeNextTask();
+        }
+        assertEquals(3, manager.getCompletedTasks().size());
+        assertEquals("Task 10", manager.undoLastTask().getDescription());
+        assertEquals(1, manager.remainingTaskCount());
+    }
+}
@@ -0,0 +1,192 @@
+package edu.course.eventplanner;
+
+import edu.course.eventplanner.model.*;
+import edu.course.eventplanner.service.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventStateStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private static void planSomeEvent(EventStateStore store) {
+        store.addGuest(new Guest("Alice", "family"));
+        store.addGuest(new Guest("Bob", "friends"));
+        store.addGuest(new Guest("Carol", "family"));
+        store.removeGuest("Bob");
+        store.selectVenue(new Venue("Garden Hall", 2500, 60, 8, 8));
+        store.addTask(new Task("Book venue"));
+        store.addTask(new Task("Send invitations"));
+        store.addTask(new Task("Order catering"));
+        store.executeNextTask();
+        store.executeNextTask();
+        store.undoLastTask();
+    }
+
+    private static void assertPlannedEvent(EventStateStore store) {
+        GuestListManager guests = store.getGuestListManager();
+        assertEquals(List.of("Alice", "Carol"),
+            guests.getAllGuests().stream().map(Guest::getName).toList());
+        assertEquals("Garden Hall", store.getSelectedVenue().getName());
+        assertEquals(8, store.getSelectedVenue().getSeatsPerTable());
+
+        TaskManager tasks = store.getTaskManager();
+        assertEquals(1, tasks.remainingTaskCount());
+        assertEquals("Order catering", tasks.executeNextTask().getDescription());
+        assertEquals("Order catering", tasks.undoLastTask().getDescription());
+        assertEquals("Book venue", tasks.undoLastTask().getDescription());
+        assertNull(tasks.undoLastTask());
+    }
+
+    @Test
+    void reopen_replaysLog() throws IOException {
+        try (EventStateStore store = EventStateStore.open(dir)) {
+            planSomeEvent(store);
+        }
+        try (EventStateStore store = EventStateStore.open(dir)) {
+            assertPlannedEvent(store);
+        }
+    }
+
+    @Test
+    void reopen_loadsSnapshotThenLogTail() throws IOException {
+        try (EventStateStore store = EventStateStore.open(dir)) {
+            planSomeEvent(store);
+            store.checkpoint();
+            assertEquals(0, Files.size(dir.resolve(EventStateStore.LOG_FILE)));
+            store.addGuest(new Guest("Dan", "coworkers"));
+        }
+        try (EventStateStore store = EventStateStore.open(dir)) {
+            assertEquals("coworkers", store.getGuestListManager().findGuest("Dan").getGroupTag());
+            store.removeGuest("Dan");
+            assertPlannedEvent(store);
+        }
+    }
+
+    @Test
+    void tornLastRecord_isDroppedOnRecovery() throws IOException {
+        try (EventStateStore store = EventStateStore.open(dir, 1, 1000)) {
+            store.addGuest(new Guest("Alice", "family"));
+            store.addGuest(new Guest("Bob", "friends"));
+        }
+        Path log = dir.resolve(EventStateStore.LOG_FILE);
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+        try (EventStateStore store = EventStateStore.open(dir)) {
+            assertEquals(1, store.getGuestListManager().getGuestCount());
+            store.addGuest(new Guest("Carol", "family"));
+        }
+        try (EventStateStore store = EventStateStore.open(dir)) {
+            assertEquals(List.of("Alice", "Carol"),
+                store.getGuestListManager().getAllGuests().stream().map(Guest::getName).toList());
+        }
+    }
+
+    @Test
+    void inMemoryStore_appliesChangesWithoutFiles() throws IOException {
+        try (EventStateStore store = new EventStateStore()) {
+            planSomeEvent(store);
+            store.checkpoint();
+            assertPlannedEvent(store);
+        }
+    }
+
+    @Test
+    void venueWithTableCapacities_survivesLogAndSnapshot() throws IOException {
+        Venue venue = new Venue("Banquet Hall", 3000, 40, new int[]{6, 12, 10});
+        try (EventStateStore store = EventStateStore.open(dir)) {
+            store.selectVenue(venue);
+        }
+        try (EventStateStore store = EventStateStore.open(dir)) {
+            assertArrayEquals(venue.getTableCapacities(), store.getSelectedVenue().getTableCapacities());
+            store.checkpoint();
+        }
+        try (EventStateStore store = EventStateStore.open(dir)) {
+            assertArrayEquals(venue.getTableCapacities(), store.getSelectedVenue().getTableCapacities());
+            assertEquals(3000, store.getSelectedVenue().getCost(), 0.01);
+        }
+    }
+
+    @Test
+    void taskPriorityAndDeadline_surviveLogAndSnapshot() throws IOException {
+        LocalDate deadline = LocalDate.of(2026, 6, 1);
+        try (EventStateStore store = EventStateStore.open(dir)) {
+            store.addTask(new Task("Finalize menu", List.of("Book caterer"), 7, deadline));
+            store.addTask(new Task("Send invitations"));
+        }
+        for (int run = 0; run < 2; run++) {
+            try (EventStateStore store = EventStateStore.open(dir)) {
+                Task task = store.getTaskManager().peekNextTask();
+                assertEquals("Finalize menu", task.getDescription());
+                assertEquals(7, task.getPriority());
+                assertEquals(deadline, task.getDeadline());
+                assertEquals(List.of("Book caterer"), task.getDependencies());
+                // the second run reads the snapshot written here
+                store.checkpoint();
+            }
+        }
+    }
+
+    @Test
+    void taskPolicyAndChanges_surviveLogAndSnapshot() throws IOException {
+        try (EventStateStore store = EventStateStore.open(dir)) {
+            store.setTaskPolicy(TaskManager.Policy.PRIORITY);
+            long napkins = store.addTask(new Task("Fold napkins", 1, null));
+            store.addTask(new Task("Send invitations", 2, null));
+            long cake = store.addTask(new Task("Order cake", 3, null));
+            assertTrue(store.reprioritize(napkins, 10));
+            assertTrue(store.removeTask(cake));
+            store.checkpoint();
+            // ids handed out before the checkpoint still work after it
+            long band = store.addTask(new Task("Book band", 5, LocalDate.of(2026, 6, 1)));
+            assertTrue(store.reprioritize(band, 20));
+            assertTrue(store.reschedule(band, null));
+        }
+        for (int run = 0; run < 2; run++) {
+            try (EventStateStore store = EventStateStore.open(dir)) {
+                TaskManager tasks = store.getTaskManager();
+                assertEquals(TaskManager.Policy.PRIORITY, tasks.getPolicy());
+                assertEquals(3, tasks.remainingTaskCount());
+                assertEquals("Book band", tasks.peekNextTask().getDescription());
+                // the second run reads the snapshot written here
+                store.checkpoint();
+            }
+        }
+        try (EventStateStore store = EventStateStore.open(dir)) {
+            assertEquals("Book band", store.executeNextTask().getDescription());
+            assertEquals("Fold napkins", store.executeNextTask().getDescription());
+            assertEquals("Send invitations", store.executeNextTask().getDescription());
+            assertNull(store.executeNextTask());
+        }
+    }
+
+    @Test
+    void redo_survivesLogAndSnapshot() throws IOException {
+        try (EventStateStore store = EventStateStore.open(dir)) {
+            store.addTask(new Task("Book venue"));
+            store.addTask(new Task("Send invitations"));
+            store.executeNextTask();
+            store.executeNextTask();
+            store.undoLastTask();
+            store.undoLastTask();
+            store.redoLastUndo();
+        }
+        try (EventStateStore store = EventStateStore.open(dir)) {
+            store.checkpoint();
+        }
+        try (EventStateStore store = EventStateStore.open(dir)) {
+            assertEquals("Send invitations", store.redoLastUndo().getDescription());
+            assertNull(store.redoLastUndo());
+        }
+    }
+}
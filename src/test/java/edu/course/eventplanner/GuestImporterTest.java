@@ -0,0 +1,107 @@
+package edu.course.eventplanner;
+
+import edu.course.eventplanner.model.Guest;
+import edu.course.eventplanner.service.GuestListManager;
+import edu.course.eventplanner.util.GuestImporter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GuestImporterTest {
+
+    @TempDir
+    Path dir;
+
+    @ParameterizedTest(name = "window of {0} bytes")
+    @ValueSource(ints = {8, 4096})
+    void importCsv_countsMalformedAndDuplicates(int windowSize) throws IOException {
+        Path file = dir.resolve("rsvps.csv");
+        Files.writeString(file, String.join("\n",
+            "name,groupTag",
+            "Alice,family",
+            "\"Smith, Bob\",friends",
+            "no group here",
+            "Alice,coworkers",
+            "",
+            "Zoë,\"family\"\r",
+            "Carol,neighbors"));
+        GuestListManager manager = new GuestListManager();
+        manager.addGuest(new Guest("Carol", "family"));
+
+        GuestImporter.Report report = new GuestImporter(windowSize).importGuests(file, manager);
+
+        assertEquals(6, report.getRows());
+        assertEquals(3, report.getImported());
+        assertEquals(1, report.getMalformed());
+        assertEquals(2, report.getDuplicates());
+        assertEquals(List.of(4L), report.getMalformedLineNumbers());
+        assertEquals("friends", manager.findGuest("Smith, Bob").getGroupTag());
+        assertEquals("family", manager.findGuest("Zoë").getGroupTag());
+        assertEquals("family", manager.findGuest("Alice").getGroupTag());
+        assertEquals("family", manager.findGuest("Carol").getGroupTag());
+    }
+
+    @Test
+    void importJsonLines_readsEscapesAndSkipsBadLines() throws IOException {
+        Path file = dir.resolve("rsvps.jsonl");
+        Files.writeString(file, String.join("\n",
+            "{\"name\": \"Dana \\\"DJ\\\" Lee\", \"groupTag\": \"friends\", \"plusOne\": true}",
+            "{\"groupTag\": \"family\", \"name\": \"Ren\\u00e9\"}",
+            "{\"name\": \"Eve\"}",
+            "not json",
+            "{\"name\": \"Ren\\u00e9\", \"group\": \"family\"}"));
+        GuestListManager manager = new GuestListManager();
+
+        GuestImporter.Report report = new GuestImporter().importGuests(file, manager);
+
+        assertEquals(5, report.getRows());
+        assertEquals(2, report.getImported());
+        assertEquals(2, report.getMalformed());
+        assertEquals(1, report.getDuplicates());
+        assertNotNull(manager.findGuest("Dana \"DJ\" Lee"));
+        assertEquals("family", manager.findGuest("René").getGroupTag());
+        assertTrue(report.getRowsPerSecond() > 0);
+    }
+
+    @Test
+    void importJsonLines_joinsSurrogatePairEscapes() throws IOException {
+        Path file = dir.resolve("rsvps.jsonl");
+        Files.writeString(file, String.join("\n",
+            "{\"name\": \"Sam \\ud83d\\ude00\", \"groupTag\": \"friends\"}",
+            "{\"name\": \"Lone \\ud83d\", \"groupTag\": \"friends\"}",
+            "{\"name\": \"Backwards \\ude00\\ud83d\", \"groupTag\": \"friends\"}"));
+        GuestListManager manager = new GuestListManager();
+
+        GuestImporter.Report report = new GuestImporter().importGuests(file, manager);
+
+        assertEquals(1, report.getImported());
+        assertEquals(List.of(2L, 3L), report.getMalformedLineNumbers());
+        assertNotNull(manager.findGuest("Sam \uD83D\uDE00"));
+    }
+
+    @Test
+    void importCsv_skipsHeaderAfterByteOrderMark_butKeepsAGuestCalledName() throws IOException {
+        Path withBom = dir.resolve("excel.csv");
+        Files.writeString(withBom, "\uFEFFName,Group\r\nAlice,family\r\n");
+        Path headerless = dir.resolve("plain.csv");
+        Files.writeString(headerless, "Name,family\nBob,friends\n");
+        GuestListManager manager = new GuestListManager();
+
+        GuestImporter.Report report = new GuestImporter().importGuests(withBom, manager);
+        assertEquals(1, report.getImported());
+        assertNotNull(manager.findGuest("Alice"));
+
+        report = new GuestImporter().importGuests(headerless, manager);
+        assertEquals(2, report.getImported());
+        assertEquals("family", manager.findGuest("Name").getGroupTag());
+        assertEquals(3, manager.getGuestCount());
+    }
+}
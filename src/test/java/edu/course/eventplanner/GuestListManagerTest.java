@@ -7,6 +7,9 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class GuestListManagerTest {
@@ -54,4 +57,75 @@ class GuestListManagerTest {
         assertEquals(guestCount, manager.getAllGuests().size());
         assertEquals(guestCount, manager.getGuestCount());
     }
+
+    @Test
+    void removeGuest_fromMiddle_keepsInsertionOrder() {
+        GuestListManager manager = new GuestListManager();
+        manager.addGuest(new Guest("A", "family"));
+        manager.addGuest(new Guest("B", "friends"));
+        manager.addGuest(new Guest("C", "family"));
+        assertTrue(manager.removeGuest("B"));
+        assertFalse(manager.removeGuest("B"));
+
+        List<Guest> all = manager.getAllGuests();
+        assertEquals(2, all.size());
+        assertEquals("A", all.get(0).getName());
+        assertEquals("C", all.get(1).getName());
+    }
+
+    @Test
+    void addGuest_sameName_replacesExistingGuest() {
+        GuestListManager manager = new GuestListManager();
+        manager.addGuest(new Guest("A", "family"));
+        manager.addGuest(new Guest("A", "friends"));
+        assertEquals(1, manager.getGuestCount());
+        assertEquals("friends", manager.findGuest("A").getGroupTag());
+        assertTrue(manager.removeGuest("A"));
+        assertTrue(manager.getAllGuests().isEmpty());
+    }
+
+    @Test
+    void groupIndex_tracksAddRemoveAndRegroup() {
+        GuestListManager manager = new GuestListManager();
+        manager.addGuest(new Guest("A", "family"));
+        manager.addGuest(new Guest("B", "friends"));
+        manager.addGuest(new Guest("C", "family"));
+        assertEquals(Map.of("family", 2, "friends", 1), manager.getGroupCounts());
+
+        manager.removeGuest("A");
+        manager.addGuest(new Guest("B", "family"));
+        assertEquals(Map.of("family", 2), manager.getGroupCounts());
+        // B keeps their place in line, ahead of C
+        assertEquals(List.of("B", "C"),
+            manager.getGuestsInGroup("family").stream().map(Guest::getName).toList());
+        assertTrue(manager.getGuestsInGroup("friends").isEmpty());
+    }
+
+    @Test
+    void snapshot_isUnaffectedByLaterChanges() {
+        GuestListManager manager = new GuestListManager();
+        for (int i = 0; i < 100; i++) {
+            manager.addGuest(new Guest("Guest" + i, "family"));
+        }
+        GuestListSnapshot before = manager.snapshot();
+        assertSame(before, manager.snapshot());
+
+        manager.removeGuest("Guest0");
+        manager.removeGuest("Guest50");
+        manager.addGuest(new Guest("Guest10", "friends"));
+        manager.addGuest(new Guest("Late", "family"));
+        GuestListSnapshot after = manager.snapshot();
+
+        assertEquals(100, before.size());
+        assertEquals("Guest0", before.get(0).getName());
+        assertEquals("family", before.get(10).getGroupTag());
+        assertEquals(100, before.stream().count());
+
+        assertTrue(after.getVersion() > before.getVersion());
+        assertEquals(99, after.size());
+        assertEquals("Guest1", after.get(0).getName());
+        assertEquals("friends", after.get(9).getGroupTag());
+        assertEquals("Late", after.get(98).getName());
+        assertThrows(UnsupportedOperationException.class, () -> after.add(new Guest("X", "family")));
+    }
 }
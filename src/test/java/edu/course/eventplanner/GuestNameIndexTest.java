@@ -0,0 +1,76 @@
+package edu.course.eventplanner;
+
+import edu.course.eventplanner.model.Guest;
+import edu.course.eventplanner.service.GuestListManager;
+import edu.course.eventplanner.service.GuestNameIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GuestNameIndexTest {
+
+    private static GuestNameIndex indexOf(String... names) {
+        GuestNameIndex index = new GuestNameIndex();
+        for (String name : names) {
+            index.add(name);
+        }
+        return index;
+    }
+
+    @Test
+    void findByPrefix_returnsAlphabeticalTopK() {
+        GuestNameIndex index = indexOf("Alice", "alfred", "Bob", "Albert", "Alan");
+        assertEquals(List.of("Alan", "Albert", "alfred"), index.findByPrefix("AL", 3));
+        assertEquals(List.of("Bob"), index.findByPrefix("b", 10));
+        assertTrue(index.findByPrefix("z", 10).isEmpty());
+    }
+
+    @ParameterizedTest(name = "{0} within {1} edits -> {2}")
+    @CsvSource({
+        "Katherin, 1, Katherine",
+        "jon, 1, Jon",
+        "Smyth, 1, Smith",
+        "Kathrine, 2, Katherine"
+    })
+    void findSimilar_toleratesTypos(String query, int maxEdits, String expected) {
+        GuestNameIndex index = indexOf("John", "Jon", "Joan", "Smith", "Katherine", "Catherine");
+        List<String> found = index.findSimilar(query, maxEdits, 5);
+        assertFalse(found.isEmpty());
+        assertEquals(expected, found.get(0));
+    }
+
+    @Test
+    void findSimilar_respectsEditLimitAndK() {
+        GuestNameIndex index = indexOf("John", "Jon", "Joan", "Jonas");
+        assertEquals(List.of("Jon", "Joan", "John"), index.findSimilar("Jon", 1, 3));
+        assertEquals(List.of("Jon"), index.findSimilar("Jon", 1, 1));
+        assertTrue(index.findSimilar("Xavier", 2, 5).isEmpty());
+    }
+
+    @Test
+    void remove_prunesNameFromResults() {
+        GuestNameIndex index = indexOf("Ann", "Anna", "Annie");
+        assertTrue(index.remove("Anna"));
+        assertFalse(index.remove("Anna"));
+        assertEquals(2, index.size());
+        assertEquals(List.of("Ann", "Annie"), index.findByPrefix("an", 10));
+    }
+
+    @Test
+    void guestListManager_keepsSearchIndexInSync() {
+        GuestListManager manager = new GuestListManager();
+        manager.addGuest(new Guest("Maria Lopez", "family"));
+        manager.addGuest(new Guest("Mark Chen", "friends"));
+        manager.addGuest(new Guest("Mark Chen", "coworkers"));
+        manager.removeGuest("Maria Lopez");
+
+        List<Guest> found = manager.searchByPrefix("mar", 10);
+        assertEquals(1, found.size());
+        assertEquals("coworkers", found.get(0).getGroupTag());
+        assertEquals("Mark Chen", manager.searchSimilar("Mark Chan", 1, 5).get(0).getName());
+    }
+}
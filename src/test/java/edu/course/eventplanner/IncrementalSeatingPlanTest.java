@@ -0,0 +1,84 @@
+package edu.course.eventplanner;
+
+import edu.course.eventplanner.model.Guest;
+import edu.course.eventplanner.model.Venue;
+import edu.course.eventplanner.service.IncrementalSeatingPlan;
+import edu.course.eventplanner.service.SeatingPlanner;
+import edu.course.eventplanner.util.Generators;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IncrementalSeatingPlanTest {
+
+    @Test
+    void startsFromPlannerArrangement() {
+        Venue venue = new Venue("Garden Hall", 2500, 60, 8, 8);
+        List<Guest> guests = Generators.GenerateGuests(30);
+        IncrementalSeatingPlan plan = new IncrementalSeatingPlan(venue, guests);
+
+        Map<Integer, List<Guest>> expected = new SeatingPlanner(venue).generateSeating(guests);
+        assertEquals(expected, plan.getSeating());
+        assertEquals(30, plan.getGuestCount());
+    }
+
+    @Test
+    void addGuest_joinsGroupTableWithoutMovingOthers() {
+        Venue venue = new Venue("Hall", 100, 18, 3, 6);
+        List<Guest> guests = List.of(
+            new Guest("A1", "GroupA"), new Guest("A2", "GroupA"), new Guest("A3", "GroupA"),
+            new Guest("B1", "GroupB"), new Guest("B2", "GroupB"));
+        IncrementalSeatingPlan plan = new IncrementalSeatingPlan(venue, guests);
+        Map<Integer, List<Guest>> before = plan.getSeating();
+        int tableOfA = plan.getTableOf("A1");
+
+        Set<Integer> changed = plan.addGuest(new Guest("A4", "GroupA"));
+
+        assertEquals(Set.of(tableOfA), changed);
+        assertEquals(tableOfA, plan.getTableOf("A4"));
+        for (Guest g : guests) {
+            int table = plan.getTableOf(g.getName());
+            assertTrue(before.get(table).contains(g), g.getName() + " should not move");
+        }
+    }
+
+    @Test
+    void addGuest_newGroupStartsAtEmptiestTable() {
+        Venue venue = new Venue("Hall", 100, 12, 3, 4);
+        IncrementalSeatingPlan plan = new IncrementalSeatingPlan(venue, List.of(
+            new Guest("A1", "GroupA"), new Guest("A2", "GroupA"), new Guest("A3", "GroupA"),
+            new Guest("A4", "GroupA"), new Guest("B1", "GroupB")));
+
+        plan.addGuest(new Guest("C1", "GroupC"));
+        assertEquals(3, plan.getTableOf("C1"));
+    }
+
+    @Test
+    void duplicateNames_areSeatedOnce() {
+        Venue venue = new Venue("Hall", 100, 6, 2, 3);
+        IncrementalSeatingPlan plan = new IncrementalSeatingPlan(venue, List.of(
+            new Guest("X", "GroupA"), new Guest("X", "GroupA"), new Guest("Y", "GroupB")));
+        assertEquals(2, plan.getGuestCount());
+        assertEquals(List.of("X", "Y"), plan.getTable(1).stream().map(Guest::getName).toList());
+
+        // once X leaves, GroupA has nobody seated, so a new member starts at the emptiest table
+        plan.removeGuest("X");
+        plan.addGuest(new Guest("Z", "GroupA"));
+        assertEquals(2, plan.getTableOf("Z"));
+    }
+
+    @Test
+    void removeGuest_freesSeatForNextGuest() {
+        Venue venue = new Venue("Tiny", 100, 2, 1, 2);
+        IncrementalSeatingPlan plan = new IncrementalSeatingPlan(venue,
+            List.of(new Guest("A", "family"), new Guest("B", "friends")));
+        assertThrows(IllegalStateException.class, () -> plan.addGuest(new Guest("C", "family")));
+
+        assertEquals(Set.of(1), plan.removeGuest("B"));
+        assertTrue(plan.removeGuest("B").isEmpty());
+        assertEquals(Set.of(1), plan.addGuest(new Guest("C", "family")));
+        assertEquals(List.of("A", "C"), plan.getTable(1).stream().map(Guest::getName).toList());
+    }
+}
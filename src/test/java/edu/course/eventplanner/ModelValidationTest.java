@@ -69,4 +69,20 @@ public class ModelValidationTest {
         Guest g2 = new Guest("Person 2", "family");
         assertEquals(g1.getGroupTag(), g2.getGroupTag());
     }
+
+    @Test
+    void venueWithTableCapacities_reportsEachTable() {
+        Venue venue = new Venue("Banquet Hall", 3000.0, 40, new int[]{6, 12, 10});
+        assertEquals(3, venue.getTables());
+        assertEquals(12, venue.getSeatsPerTable());
+        assertEquals(10, venue.getTableCapacity(3));
+        assertEquals(28, venue.getTotalSeats());
+        assertFalse(venue.hasUniformTables());
+        assertArrayEquals(new int[]{6, 12, 10}, venue.getTableCapacities());
+
+        Venue uniform = new Venue("Test Hall", 1500.0, 50, 6, 8);
+        assertTrue(uniform.hasUniformTables());
+        assertEquals(48, uniform.getTotalSeats());
+        assertEquals(8, uniform.getTableCapacity(6));
+    }
 }
@@ -0,0 +1,64 @@
+package edu.course.eventplanner;
+
+import edu.course.eventplanner.model.Guest;
+import edu.course.eventplanner.model.Venue;
+import edu.course.eventplanner.service.PrimitiveSeatingEngine;
+import edu.course.eventplanner.service.SeatingPlanner;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimitiveSeatingEngineTest {
+
+    private static List<Guest> randomGuests(long seed, int guestCount, int groupCount) {
+        Random random = new Random(seed);
+        List<Guest> guests = new ArrayList<>();
+        for (int i = 0; i < guestCount; i++) {
+            // skewed sizes so some groups split across tables and some tie
+            int group = (int) Math.floor(groupCount * Math.pow(random.nextDouble(), 2));
+            guests.add(new Guest("Guest" + i, "group" + group));
+        }
+        return guests;
+    }
+
+    @ParameterizedTest(name = "seed {0}: {1} guests, {2} groups, {3} x {4}")
+    @CsvSource({
+        "1, 50, 4, 10, 6",
+        "2, 200, 30, 30, 7",
+        "3, 1000, 120, 100, 10",
+        "4, 37, 37, 5, 8"
+    })
+    void assignTables_matchesSeatingPlanner(long seed, int guestCount, int groupCount, int tables, int seats) {
+        Venue venue = new Venue("Hall", 1000, tables * seats, tables, seats);
+        List<Guest> guests = randomGuests(seed, guestCount, groupCount);
+        PrimitiveSeatingEngine engine = new PrimitiveSeatingEngine(venue);
+
+        Map<Integer, List<Guest>> expected = new SeatingPlanner(venue).generateSeating(guests);
+        // run twice to check the reused scratch state
+        engine.assignTables(randomGuests(seed + 100, guestCount / 2 + 1, groupCount));
+        int[] tableOfGuest = engine.assignTables(guests);
+
+        Map<Integer, List<Guest>> actual = new LinkedHashMap<>();
+        for (int t = 1; t <= tables; t++) {
+            actual.put(t, new ArrayList<>());
+        }
+        for (int i = 0; i < guests.size(); i++) {
+            actual.get(tableOfGuest[i]).add(guests.get(i));
+        }
+        // same guests at each table; the planner lists them group by group
+        for (int t = 1; t <= tables; t++) {
+            assertEquals(new HashSet<>(expected.get(t)), new HashSet<>(actual.get(t)), "table " + t);
+        }
+    }
+
+    @Test
+    void assignTables_tooManyGuests_throws() {
+        PrimitiveSeatingEngine engine = new PrimitiveSeatingEngine(new Venue("Tiny", 10, 2, 1, 2));
+        assertThrows(IllegalStateException.class, () -> engine.assignTables(randomGuests(1, 3, 1)));
+        assertEquals(0, engine.assignTables(Collections.emptyList()).length);
+    }
+}
@@ -0,0 +1,85 @@
+package edu.course.eventplanner;
+
+import edu.course.eventplanner.model.*;
+import edu.course.eventplanner.service.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatPlanTest {
+
+    @Test
+    void pinnedGuest_keepsSeat_andOthersFillFreeSeats() {
+        SeatPlan plan = new SeatPlan(new Venue("Hall", 100, 8, 2, 4));
+        Guest vip = new Guest("Vip", "family");
+        plan.pin(vip, 1, 1);
+
+        List<Guest> guests = new ArrayList<>(List.of(vip));
+        for (int i = 0; i < 7; i++) {
+            guests.add(new Guest("Guest" + i, i < 3 ? "family" : "friends"));
+        }
+        plan.autoSeat(guests);
+
+        assertEquals(8, plan.getGuestCount());
+        assertEquals(1, plan.getTable("Vip"));
+        assertEquals(1, plan.getSeat("Vip"));
+        assertSame(vip, plan.getGuestAt(1, 1));
+        assertEquals(0, plan.getFreeSeats(1));
+        assertEquals(0, plan.getFreeSeats(2));
+        assertEquals(0, plan.nextFreeSeat(2));
+    }
+
+    @Test
+    void takenSeat_cannotBePinned_andMoveFreesOldSeat() {
+        SeatPlan plan = new SeatPlan(new Venue("Hall", 100, 8, 2, 4));
+        plan.pin(new Guest("Alice", "family"), 2, 3);
+        assertThrows(IllegalStateException.class, () -> plan.pin(new Guest("Bob", "friends"), 2, 3));
+        assertThrows(IllegalArgumentException.class, () -> plan.pin(new Guest("Bob", "friends"), 2, 5));
+
+        plan.move("Alice", 1, 4);
+        assertNull(plan.getGuestAt(2, 3));
+        assertEquals(1, plan.getTable("Alice"));
+        assertEquals(4, plan.getSeat("Alice"));
+        assertEquals(1, plan.nextFreeSeat(1));
+
+        assertTrue(plan.unseat("Alice"));
+        assertEquals(0, plan.getTable("Alice"));
+        assertEquals(4, plan.getFreeSeats(1));
+    }
+
+    @Test
+    void largeTables_spanSeveralWords() {
+        SeatPlan plan = new SeatPlan(new Venue("Gala", 100, 210, new int[]{70, 140}));
+        List<Guest> guests = new ArrayList<>();
+        for (int i = 0; i < 210; i++) {
+            guests.add(new Guest("Guest" + i, "group" + (i % 5)));
+        }
+        plan.autoSeat(guests);
+
+        assertEquals(210, plan.getGuestCount());
+        assertEquals(0, plan.getFreeSeats(1));
+        assertEquals(0, plan.nextFreeSeat(2));
+
+        Guest last = plan.getGuestAt(2, 140);
+        plan.unseat(last.getName());
+        assertEquals(140, plan.nextFreeSeat(2));
+        assertThrows(IllegalStateException.class,
+            () -> plan.autoSeat(List.of(new Guest("Extra1", "x"), new Guest("Extra2", "x"))));
+    }
+
+    @Test
+    void autoSeat_countsEachUnseatedNameOnce_onAFullVenue() {
+        SeatPlan plan = new SeatPlan(new Venue("Booth", 100, 3, new int[]{3}));
+        plan.pin(new Guest("Alice", "family"), 1, 1);
+
+        // Alice is already pinned and Bob is listed twice: two seats are needed, and two are free
+        plan.autoSeat(List.of(new Guest("Alice", "family"), new Guest("Bob", "family"),
+            new Guest("Bob", "family"), new Guest("Carol", "friends")));
+
+        assertEquals(3, plan.getGuestCount());
+        assertEquals(1, plan.getSeat("Alice"));
+        assertEquals(0, plan.getFreeSeats(1));
+    }
+}
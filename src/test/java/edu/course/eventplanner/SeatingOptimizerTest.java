@@ -0,0 +1,77 @@
+package edu.course.eventplanner;
+
+import edu.course.eventplanner.model.Guest;
+import edu.course.eventplanner.model.Venue;
+import edu.course.eventplanner.service.SeatingOptimizer;
+import edu.course.eventplanner.util.Generators;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatingOptimizerTest {
+
+    private static int tableOf(Map<Integer, List<Guest>> seating, String name) {
+        for (Map.Entry<Integer, List<Guest>> e : seating.entrySet()) {
+            if (e.getValue().stream().anyMatch(g -> g.getName().equals(name))) {
+                return e.getKey();
+            }
+        }
+        return 0;
+    }
+
+    @Test
+    void optimize_satisfiesTogetherAndApartConstraints() {
+        Venue venue = new Venue("Garden Hall", 2500, 64, 8, 8);
+        List<Guest> guests = Generators.GenerateGuests(48);
+        SeatingOptimizer optimizer = new SeatingOptimizer(venue)
+            .keepTogether("Guest1", "Guest2")
+            .keepTogether("Guest3", "Guest8")
+            .keepApart("Guest4", "Guest8")
+            .keepApart("Guest12", "Guest16");
+
+        SeatingOptimizer.Result result = optimizer.optimize(guests, 200);
+        Map<Integer, List<Guest>> seating = result.getSeating();
+
+        assertEquals(0, result.getViolations());
+        assertTrue(result.getObjective() <= result.getInitialObjective());
+        assertTrue(result.getMovesEvaluated() > 0);
+        assertEquals(tableOf(seating, "Guest1"), tableOf(seating, "Guest2"));
+        assertEquals(tableOf(seating, "Guest3"), tableOf(seating, "Guest8"));
+        assertNotEquals(tableOf(seating, "Guest4"), tableOf(seating, "Guest8"));
+        assertNotEquals(tableOf(seating, "Guest12"), tableOf(seating, "Guest16"));
+
+        assertEquals(48, seating.values().stream().mapToInt(List::size).sum());
+        for (List<Guest> table : seating.values()) {
+            assertTrue(table.size() <= 8);
+        }
+    }
+
+    @Test
+    void optimize_reducesSplitGroups() {
+        // five groups of 6 at tables of 8: greedy splits most of them
+        Venue venue = new Venue("Hall", 100, 40, 5, 8);
+        List<Guest> guests = new ArrayList<>();
+        for (int g = 0; g < 5; g++) {
+            for (int i = 0; i < 6; i++) {
+                guests.add(new Guest("G" + g + "-" + i, "group" + g));
+            }
+        }
+
+        SeatingOptimizer.Result result = new SeatingOptimizer(venue).optimize(guests, 200);
+
+        assertTrue(result.getInitialObjective() > 0);
+        assertEquals(0, result.getSplitGroups());
+        assertEquals(0, result.getObjective());
+    }
+
+    @Test
+    void optimize_withNoTimeReturnsGreedyPlan() {
+        Venue venue = new Venue("Hall", 100, 40, 5, 8);
+        List<Guest> guests = Generators.GenerateGuests(30);
+        SeatingOptimizer.Result result = new SeatingOptimizer(venue).optimize(guests, 0);
+        assertEquals(result.getInitialObjective(), result.getObjective());
+        assertEquals(30, result.getSeating().values().stream().mapToInt(List::size).sum());
+    }
+}
@@ -0,0 +1,133 @@
+package edu.course.eventplanner;
+
+import edu.course.eventplanner.model.*;
+import edu.course.eventplanner.service.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatingPlanCacheTest {
+
+    private static GuestListManager someGuests() {
+        GuestListManager manager = new GuestListManager();
+        manager.addGuest(new Guest("Alice", "family"));
+        manager.addGuest(new Guest("Bob", "friends"));
+        manager.addGuest(new Guest("Carol", "family"));
+        return manager;
+    }
+
+    @Test
+    void repeatedRequest_isAHit() {
+        SeatingPlanCache cache = new SeatingPlanCache();
+        GuestListManager manager = someGuests();
+        Venue venue = new Venue("Hall", 100, 8, 2, 4);
+
+        Map<Integer, List<Guest>> first = cache.getSeating(manager, venue);
+        Map<Integer, List<Guest>> second = cache.getSeating(manager, venue);
+
+        assertSame(first, second);
+        assertEquals(new SeatingPlanner(venue).generateSeating(manager), first);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertThrows(UnsupportedOperationException.class, () -> first.get(1).clear());
+    }
+
+    @Test
+    void guestChange_replansAndReplacesEntry() {
+        SeatingPlanCache cache = new SeatingPlanCache();
+        GuestListManager manager = someGuests();
+        Venue venue = new Venue("Hall", 100, 8, 2, 4);
+
+        cache.getSeating(manager, venue);
+        manager.addGuest(new Guest("Dan", "friends"));
+        Map<Integer, List<Guest>> seating = cache.getSeating(manager, venue);
+
+        assertEquals(4, seating.values().stream().mapToInt(List::size).sum());
+        assertEquals(2, cache.getMisses());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void eachVenue_hasItsOwnPlan_andLeastRecentlyUsedIsEvicted() {
+        SeatingPlanCache cache = new SeatingPlanCache(2);
+        GuestListManager manager = someGuests();
+        Venue small = new Venue("Small", 100, 4, 1, 4);
+        Venue medium = new Venue("Medium", 200, 8, 2, 4);
+        Venue large = new Venue("Large", 300, 12, 3, 4);
+
+        cache.getSeating(manager, small);
+        cache.getSeating(manager, medium);
+        cache.getSeating(manager, small);
+        cache.getSeating(manager, large);
+        assertEquals(2, cache.size());
+
+        cache.getSeating(manager, small);
+        assertEquals(2, cache.getHits());
+        cache.getSeating(manager, medium);
+        assertEquals(4, cache.getMisses());
+
+        cache.invalidate(manager);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void streamSeating_cachesThePlanOnceReadToTheEnd() {
+        SeatingPlanCache cache = new SeatingPlanCache();
+        GuestListManager manager = someGuests();
+        Venue venue = new Venue("Hall", 100, 8, 2, 4);
+
+        // a stream dropped part way through does not leave a plan behind
+        cache.streamSeating(manager, venue).findFirst();
+        assertEquals(0, cache.size());
+
+        List<Map.Entry<Integer, List<Guest>>> streamed = cache.streamSeating(manager, venue).toList();
+        assertEquals(new ArrayList<>(new SeatingPlanner(venue).generateSeating(manager).entrySet()), streamed);
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.getMisses());
+
+        assertEquals(streamed, cache.streamSeating(manager, venue).toList());
+        assertEquals(streamed, new ArrayList<>(cache.getSeating(manager, venue).entrySet()));
+        assertEquals(2, cache.getHits());
+    }
+
+    @Test
+    void slowMiss_doesNotBlockOtherPlans() throws Exception {
+        SeatingPlanCache cache = new SeatingPlanCache();
+        CountDownLatch planning = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // a venue that stalls while a plan for it is being made
+        Venue slow = new Venue("Slow", 100, 8, 2, 4) {
+            @Override
+            public int getTotalSeats() {
+                planning.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.getTotalSeats();
+            }
+        };
+        GuestListManager manager = someGuests();
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<Map<Integer, List<Guest>>> slowPlan = pool.submit(() -> cache.getSeating(manager, slow));
+            assertTrue(planning.await(5, TimeUnit.SECONDS));
+
+            Future<Map<Integer, List<Guest>>> other = CompletableFuture.supplyAsync(
+                () -> cache.getSeating(someGuests(), new Venue("Hall", 100, 8, 2, 4)));
+            assertEquals(3, other.get(5, TimeUnit.SECONDS).values().stream().mapToInt(List::size).sum());
+
+            release.countDown();
+            assertEquals(3, slowPlan.get(5, TimeUnit.SECONDS).values().stream().mapToInt(List::size).sum());
+            assertEquals(2, cache.size());
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+}
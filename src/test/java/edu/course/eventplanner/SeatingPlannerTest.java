@@ -52,4 +52,160 @@ class SeatingPlannerTest {
         
         assertTrue(seating.isEmpty() || seating.values().stream().allMatch(List::isEmpty));
     }
+
+    @ParameterizedTest(name = "{0} tables x {1} seats, {2} guests")
+    @MethodSource("seatingScenarios")
+    void generateSeating_fromManager_matchesListResult(int tables, int seatsPerTable, int guestCount, String[] groupTags) {
+        Venue venue = new Venue("TestVenue", 100, tables * seatsPerTable, tables, seatsPerTable);
+        SeatingPlanner planner = new SeatingPlanner(venue);
+
+        GuestListManager manager = new GuestListManager();
+        for (int i = 0; i < guestCount; i++) {
+            manager.addGuest(new Guest("Guest" + (i + 1), groupTags[i]));
+        }
+        assertEquals(planner.generateSeating(manager.getAllGuests()), planner.generateSeating(manager));
+
+        // moving the first guest to another group keeps their place in line
+        String otherTag = Arrays.stream(groupTags).filter(t -> !t.equals(groupTags[0])).findFirst().orElseThrow();
+        manager.addGuest(new Guest("Guest1", otherTag));
+        assertEquals(planner.generateSeating(manager.getAllGuests()), planner.generateSeating(manager));
+    }
+
+    @Test
+    void generateSeating_fromManager_keepsRegroupedGuestInPlace() {
+        Venue venue = new Venue("TestVenue", 100, 2, 2, 1);
+        SeatingPlanner planner = new SeatingPlanner(venue);
+        GuestListManager manager = new GuestListManager();
+        manager.addGuest(new Guest("B", "friends"));
+        manager.addGuest(new Guest("C", "family"));
+        manager.addGuest(new Guest("B", "family"));
+
+        Map<Integer, List<Guest>> seating = planner.generateSeating(manager);
+
+        assertEquals(planner.generateSeating(manager.getAllGuests()), seating);
+        assertEquals("B", seating.get(1).get(0).getName());
+        assertEquals("C", seating.get(2).get(0).getName());
+    }
+
+    @Test
+    void generateSeating_mixedTables_respectsEachTableCapacity() {
+        Venue venue = new Venue("Mixed", 100, 20, new int[]{6, 2, 4});
+        List<Guest> guests = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            guests.add(new Guest("Guest" + i, "group" + (i % 3)));
+        }
+
+        Map<Integer, List<Guest>> seating = new SeatingPlanner(venue).generateSeating(guests);
+
+        assertEquals(6, seating.get(1).size());
+        assertEquals(2, seating.get(2).size());
+        assertEquals(4, seating.get(3).size());
+        assertThrows(IllegalStateException.class,
+            () -> new SeatingPlanner(venue).generateSeating(Collections.nCopies(13, new Guest("X", "x"))));
+    }
+
+    @Test
+    void generatePackedSeating_fitsGroupsToMatchingTables() {
+        Venue venue = new Venue("Banquet", 100, 36, new int[]{6, 12, 8, 10});
+        List<Guest> guests = new ArrayList<>();
+        int[] sizes = {8, 6, 12, 10};
+        for (int g = 0; g < sizes.length; g++) {
+            for (int i = 0; i < sizes[g]; i++) {
+                guests.add(new Guest("G" + g + "-" + i, "group" + g));
+            }
+        }
+
+        Map<Integer, List<Guest>> seating = new SeatingPlanner(venue).generatePackedSeating(guests);
+
+        for (Map.Entry<Integer, List<Guest>> e : seating.entrySet()) {
+            List<Guest> table = e.getValue();
+            assertEquals(venue.getTableCapacity(e.getKey()), table.size());
+            assertEquals(1, table.stream().map(Guest::getGroupTag).distinct().count());
+        }
+    }
+
+    @Test
+    void generatePackedSeating_splitsOnlyGroupsThatFitNowhere() {
+        Venue venue = new Venue("Small", 100, 8, new int[]{4, 4});
+        List<Guest> guests = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            guests.add(new Guest("Big" + i, "big"));
+        }
+        for (int i = 0; i < 3; i++) {
+            guests.add(new Guest("Small" + i, "small"));
+        }
+
+        Map<Integer, List<Guest>> seating = new SeatingPlanner(venue).generatePackedSeating(guests);
+
+        assertEquals(8, seating.values().stream().mapToInt(List::size).sum());
+        long tablesWithSmall = seating.values().stream()
+            .filter(t -> t.stream().anyMatch(g -> g.getGroupTag().equals("small"))).count();
+        assertEquals(1, tablesWithSmall);
+        assertThrows(IllegalStateException.class,
+            () -> new SeatingPlanner(venue).generatePackedSeating(Collections.nCopies(9, new Guest("X", "x"))));
+    }
+
+    @Test
+    void generatePackedSeating_largeBanquet_seatsEveryoneWithinCapacity() {
+        Random random = new Random(7);
+        int[] seats = new int[500];
+        int total = 0;
+        for (int t = 0; t < seats.length; t++) {
+            seats[t] = 6 + 2 * random.nextInt(4);
+            total += seats[t];
+        }
+        Venue venue = new Venue("Ballroom", 100, total, seats);
+        List<Guest> guests = new ArrayList<>();
+        for (int g = 0; guests.size() < total - 12; g++) {
+            int size = 1 + random.nextInt(12);
+            for (int i = 0; i < size; i++) {
+                guests.add(new Guest("G" + g + "-" + i, "group" + g));
+            }
+        }
+
+        Map<Integer, List<Guest>> seating = new SeatingPlanner(venue).generatePackedSeating(guests);
+
+        assertEquals(500, seating.size());
+        assertEquals(guests.size(), seating.values().stream().mapToInt(List::size).sum());
+        for (Map.Entry<Integer, List<Guest>> e : seating.entrySet()) {
+            assertTrue(e.getValue().size() <= venue.getTableCapacity(e.getKey()));
+        }
+    }
+
+    @ParameterizedTest(name = "{0} tables x {1} seats, {2} guests")
+    @MethodSource("seatingScenarios")
+    void streamSeating_producesSameTablesInOrder(int tables, int seatsPerTable, int guestCount, String[] groupTags) {
+        Venue venue = new Venue("TestVenue", 100, tables * seatsPerTable, tables, seatsPerTable);
+        SeatingPlanner planner = new SeatingPlanner(venue);
+
+        GuestListManager manager = new GuestListManager();
+        for (int i = 0; i < guestCount; i++) {
+            manager.addGuest(new Guest("Guest" + (i + 1), groupTags[i]));
+        }
+        String otherTag = Arrays.stream(groupTags).filter(t -> !t.equals(groupTags[0])).findFirst().orElseThrow();
+        manager.addGuest(new Guest("Guest1", otherTag));
+
+        Map<Integer, List<Guest>> expected = planner.generateSeating(manager.getAllGuests());
+        List<Map.Entry<Integer, List<Guest>>> streamed = planner.streamSeating(manager).toList();
+        assertEquals(new ArrayList<>(expected.entrySet()), streamed);
+        assertEquals(streamed, planner.streamSeating(manager.getAllGuests()).toList());
+    }
+
+    @Test
+    void streamSeating_largeEvent_yieldsTablesOneByOne() {
+        Venue venue = new Venue("Ballroom", 100, 100_000, 10_000, 10);
+        List<Guest> guests = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            guests.add(new Guest("Guest" + i, "group" + (i % 97)));
+        }
+        SeatingPlanner planner = new SeatingPlanner(venue);
+
+        Iterator<Map.Entry<Integer, List<Guest>>> tables = planner.streamSeating(guests).iterator();
+        assertEquals(1, tables.next().getKey());
+        assertEquals(2, tables.next().getKey());
+
+        assertEquals(10_000, planner.streamSeating(guests).count());
+        assertThrows(IllegalStateException.class,
+            () -> planner.streamSeating(Collections.nCopies(100_001, new Guest("X", "x"))));
+    }
 }
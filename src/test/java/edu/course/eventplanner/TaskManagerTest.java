@@ -6,6 +6,8 @@ import org.junit.jupiter.api.*;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.time.LocalDate;
+import java.util.*;
 import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -77,4 +79,130 @@ class TaskManagerTest {
         }
         assertNull(manager.undoLastTask());
     }
+
+    @Test
+    void priorityPolicy_runsMostUrgentFirst_andReprioritizes() {
+        TaskManager manager = new TaskManager(TaskManager.Policy.PRIORITY);
+        manager.addTask(new Task("Fold napkins", 1, null));
+        long flowers = manager.addTask(new Task("Order flowers", 5, null));
+        long cake = manager.addTask(new Task("Order cake", 5, LocalDate.of(2026, 5, 1)));
+        long music = manager.addTask(new Task("Book band", 3, null));
+
+        assertEquals("Order cake", manager.peekNextTask().getDescription());
+        assertTrue(manager.reprioritize(music, 9));
+        assertTrue(manager.removeTask(cake));
+        assertFalse(manager.removeTask(cake));
+
+        assertEquals("Book band", manager.executeNextTask().getDescription());
+        assertEquals("Order flowers", manager.executeNextTask().getDescription());
+        assertFalse(manager.reprioritize(flowers, 1));
+        assertEquals("Fold napkins", manager.executeNextTask().getDescription());
+        assertEquals("Fold napkins", manager.undoLastTask().getDescription());
+        assertEquals("Order flowers", manager.undoLastTask().getDescription());
+    }
+
+    @Test
+    void earliestDeadlinePolicy_runsTasksWithoutDeadlineLast() {
+        TaskManager manager = new TaskManager(TaskManager.Policy.EARLIEST_DEADLINE);
+        LocalDate june = LocalDate.of(2026, 6, 1);
+        manager.addTask(new Task("Thank-you cards", 10, null));
+        long venue = manager.addTask(new Task("Book venue", 0, june.plusDays(30)));
+        manager.addTask(new Task("Send invitations", 0, june.plusDays(10)));
+        manager.addTask(new Task("Order cake", 2, june.plusDays(10)));
+
+        assertTrue(manager.reschedule(venue, june));
+        assertEquals("Book venue", manager.executeNextTask().getDescription());
+        assertEquals("Order cake", manager.executeNextTask().getDescription());
+        assertEquals("Send invitations", manager.executeNextTask().getDescription());
+        assertEquals("Thank-you cards", manager.executeNextTask().getDescription());
+        assertEquals(0, manager.remainingTaskCount());
+    }
+
+    @Test
+    void setPolicy_reordersUpcomingTasks_keepingChanges() {
+        TaskManager manager = new TaskManager();
+        manager.addTask(new Task("Fold napkins", 1, null));
+        long band = manager.addTask(new Task("Book band", 3, null));
+        manager.addTask(new Task("Order cake", 5, null));
+        assertTrue(manager.reprioritize(band, 9));
+        assertEquals("Fold napkins", manager.peekNextTask().getDescription());
+
+        manager.setPolicy(TaskManager.Policy.PRIORITY);
+        assertEquals(TaskManager.Policy.PRIORITY, manager.getPolicy());
+        assertEquals("Book band", manager.executeNextTask().getDescription());
+        assertEquals("Order cake", manager.executeNextTask().getDescription());
+
+        manager.setPolicy(TaskManager.Policy.FIFO);
+        assertEquals("Fold napkins", manager.executeNextTask().getDescription());
+    }
+
+    @Test
+    void priorityPolicy_matchesSortedOrder_underManyChanges() {
+        TaskManager manager = new TaskManager(TaskManager.Policy.PRIORITY);
+        Random random = new Random(11);
+        Map<Long, Integer> priorities = new HashMap<>();
+        for (int i = 0; i < 500; i++) {
+            int p = random.nextInt(50);
+            priorities.put(manager.addTask(new Task("T" + i, p, null)), p);
+        }
+        for (int i = 0; i < 300; i++) {
+            long id = 1 + random.nextInt(500);
+            if (random.nextBoolean()) {
+                int p = random.nextInt(50);
+                manager.reprioritize(id, p);
+                priorities.computeIfPresent(id, (k, v) -> p);
+            } else {
+                manager.removeTask(id);
+                priorities.remove(id);
+            }
+        }
+
+        List<Long> expected = new ArrayList<>(priorities.keySet());
+        expected.sort(Comparator.comparingInt((Long id) -> -priorities.get(id)).thenComparingLong(id -> id));
+        assertEquals(expected.size(), manager.remainingTaskCount());
+        for (long id : expected) {
+            assertEquals("T" + (id - 1), manager.executeNextTask().getDescription());
+        }
+    }
+
+    @Test
+    void redoLastUndo_restoresUndoneTasks_untilNextExecute() {
+        TaskManager manager = new TaskManager();
+        IntStream.rangeClosed(1, 3)
+            .forEach(i -> manager.addTask(new Task("Task " + i)));
+        manager.executeNextTask();
+        manager.executeNextTask();
+
+        manager.undoLastTask();
+        manager.undoLastTask();
+        assertEquals("Task 1", manager.redoLastUndo().getDescription());
+        assertEquals("Task 1", manager.undoLastTask().getDescription());
+        assertEquals("Task 1", manager.redoLastUndo().getDescription());
+
+        manager.executeNextTask();
+        assertNull(manager.redoLastUndo());
+        assertEquals("Task 3", manager.undoLastTask().getDescription());
+        assertEquals("Task 1", manager.undoLastTask().getDescription());
+        assertNull(manager.undoLastTask());
+    }
+
+    @ParameterizedTest(name = "Undo depth {0}")
+    @ValueSource(ints = {1, 3, 20})
+    void undoHistory_keepsOnlyMostRecentTasks(int depth) {
+        TaskManager manager = new TaskManager(TaskManager.Policy.FIFO, depth);
+        for (int i = 1; i <= 50; i++) {
+            manager.addTask(new Task("Task " + i));
+            manager.executeNextTask();
+        }
+
+        for (int i = 50; i > 50 - depth; i--) {
+            assertEquals("Task " + i, manager.undoLastTask().getDescription());
+        }
+        assertNull(manager.undoLastTask());
+        for (int i = 50 - depth + 1; i <= 50; i++) {
+            assertEquals("Task " + i, manager.redoLastUndo().getDescription());
+        }
+        assertNull(manager.redoLastUndo());
+        assertThrows(IllegalArgumentException.class, () -> new TaskManager(TaskManager.Policy.FIFO, 0));
+    }
 }
@@ -0,0 +1,109 @@
+package edu.course.eventplanner;
+
+import edu.course.eventplanner.model.*;
+import edu.course.eventplanner.service.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskSchedulerTest {
+
+    private static Task task(String description, String... dependencies) {
+        return new Task(description, List.of(dependencies));
+    }
+
+    private static List<String> names(List<Task> tasks) {
+        return tasks.stream().map(Task::getDescription).toList();
+    }
+
+    @Test
+    void executeNextTask_waitsForDependencies() {
+        TaskScheduler scheduler = new TaskScheduler();
+        scheduler.addTask(task("Finalize menu", "Book caterer"));
+        scheduler.addTask(task("Send invitations"));
+        scheduler.addTask(task("Book caterer"));
+
+        assertEquals("Send invitations", scheduler.executeNextTask().getDescription());
+        assertEquals("Book caterer", scheduler.executeNextTask().getDescription());
+        assertEquals("Finalize menu", scheduler.executeNextTask().getDescription());
+        assertNull(scheduler.executeNextTask());
+        assertEquals(0, scheduler.remainingTaskCount());
+    }
+
+    @Test
+    void undoLastTask_makesDependentsWaitAgain() {
+        TaskScheduler scheduler = new TaskScheduler();
+        scheduler.addTask(task("Book caterer"));
+        scheduler.addTask(task("Finalize menu", "Book caterer"));
+
+        scheduler.executeNextTask();
+        assertEquals(List.of("Finalize menu"), names(scheduler.readyTasks()));
+        assertEquals("Book caterer", scheduler.undoLastTask().getDescription());
+        assertEquals(2, scheduler.remainingTaskCount());
+        assertEquals(List.of("Book caterer"), names(scheduler.readyTasks()));
+        assertNull(new TaskScheduler().undoLastTask());
+    }
+
+    @Test
+    void topologicalOrder_reportsCyclesAndMissingTasks() {
+        TaskScheduler scheduler = new TaskScheduler();
+        scheduler.addTask(task("A", "C"));
+        scheduler.addTask(task("B", "A"));
+        scheduler.addTask(task("C", "B"));
+        IllegalStateException cycle = assertThrows(IllegalStateException.class, scheduler::topologicalOrder);
+        assertTrue(cycle.getMessage().startsWith("Dependency cycle"));
+        assertNull(scheduler.executeNextTask());
+
+        TaskScheduler missing = new TaskScheduler();
+        missing.addTask(task("Finalize menu", "Book caterer"));
+        assertThrows(IllegalStateException.class, missing::topologicalOrder);
+    }
+
+    @Test
+    void criticalPath_followsLongestChain() {
+        TaskScheduler scheduler = new TaskScheduler();
+        scheduler.addTask(task("Book venue"));
+        scheduler.addTask(task("Book caterer"));
+        scheduler.addTask(task("Finalize menu", "Book caterer", "Book venue"));
+        scheduler.addTask(task("Print menus", "Finalize menu"));
+        scheduler.addTask(task("Send invitations", "Book venue"));
+
+        assertEquals(List.of("Book caterer", "Finalize menu", "Print menus"), names(scheduler.criticalPath()));
+        Map<String, Long> days = Map.of("Book venue", 1L, "Book caterer", 5L, "Finalize menu", 1L,
+            "Print menus", 1L, "Send invitations", 10L);
+        assertEquals(List.of("Book venue", "Send invitations"),
+            names(scheduler.criticalPath(t -> days.get(t.getDescription()))));
+    }
+
+    @Test
+    void runAll_runsEachTaskAfterItsDependencies() throws Exception {
+        TaskScheduler scheduler = new TaskScheduler();
+        for (int i = 0; i < 50; i++) {
+            scheduler.addTask(i < 10 ? task("T" + i) : task("T" + i, "T" + (i % 10), "T" + (i - 10)));
+        }
+        Set<String> finished = ConcurrentHashMap.newKeySet();
+        List<String> violations = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            scheduler.runAll(pool, t -> {
+                for (String dependency : t.getDependencies()) {
+                    if (!finished.contains(dependency)) {
+                        violations.add(t.getDescription());
+                    }
+                }
+                finished.add(t.getDescription());
+            }).get(10, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertTrue(violations.isEmpty());
+        assertEquals(50, finished.size());
+        assertEquals(0, scheduler.remainingTaskCount());
+        assertNotNull(scheduler.undoLastTask());
+        assertEquals(1, scheduler.remainingTaskCount());
+    }
+}
@@ -0,0 +1,72 @@
+package edu.course.eventplanner;
+
+import edu.course.eventplanner.model.*;
+import edu.course.eventplanner.service.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VenueCatalogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void load_readsBothLineFormats() throws IOException {
+        Path file = dir.resolve("venues.csv");
+        Files.writeString(file, """
+            name,cost,capacity,tables,seatsPerTable
+            # seats given per table
+            Banquet Hall, 3000, 40, 6;12;10
+            Community Hall,1500,40,5,8
+            """);
+        try (VenueCatalog catalog = VenueCatalog.load(file)) {
+            VenueCatalog.Snapshot snapshot = catalog.getSnapshot();
+            assertEquals(2, snapshot.getVenues().size());
+            assertEquals(1, snapshot.getVersion());
+            assertArrayEquals(new int[]{6, 12, 10}, snapshot.getVenues().get(0).getTableCapacities());
+            assertEquals("Community Hall", catalog.selectVenue(2000, 30).getName());
+        }
+    }
+
+    @Test
+    void badReload_keepsPreviousSnapshot() throws IOException {
+        Path file = dir.resolve("venues.csv");
+        Files.writeString(file, "Community Hall,1500,40,5,8\n");
+        try (VenueCatalog catalog = VenueCatalog.load(file)) {
+            VenueCatalog.Snapshot before = catalog.getSnapshot();
+            Files.writeString(file, "Community Hall,1500,40,5,8\nGarden Hall,cheap,60,8,8\n");
+
+            assertThrows(IOException.class, catalog::reload);
+            assertSame(before, catalog.getSnapshot());
+            assertTrue(catalog.getLastError().getMessage().contains("line 2"));
+        }
+    }
+
+    @Test
+    void watch_publishesNewSnapshotWhenFileChanges() throws IOException, InterruptedException {
+        Path file = dir.resolve("venues.csv");
+        Files.writeString(file, "Community Hall,1500,40,5,8\n");
+        try (VenueCatalog catalog = VenueCatalog.watch(file)) {
+            VenueSelector old = catalog.getSelector();
+            assertNull(catalog.selectVenue(3000, 60));
+
+            Path next = dir.resolve("venues.tmp");
+            Files.writeString(next, "Community Hall,1500,40,5,8\nGarden Hall,2500,60,8,8\n");
+            Files.move(next, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (catalog.getSnapshot().getVersion() == 1 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertEquals(2, catalog.getSnapshot().getVersion());
+            assertEquals("Garden Hall", catalog.selectVenue(3000, 60).getName());
+            // a selector already handed out keeps answering from the old catalog
+            assertNull(old.selectVenue(3000, 60));
+        }
+    }
+}
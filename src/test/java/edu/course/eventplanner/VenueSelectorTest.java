@@ -5,6 +5,7 @@ import edu.course.eventplanner.service.*;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -55,4 +56,88 @@ class VenueSelectorTest {
         assertNull(selector.selectVenue(100, 10), "Expected null when no venue fits");
     }
 
+    // the index must pick the same venue as checking every venue
+    @Test
+    void selectVenue_matchesFullScan() {
+        Random random = new Random(3);
+        List<Venue> venues = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            venues.add(new Venue("V" + i, 50 * random.nextInt(40), 10 * random.nextInt(30), 5, 10));
+        }
+        VenueSelector selector = new VenueSelector(venues);
+        Comparator<Venue> order = Comparator.comparingDouble(Venue::getCost).thenComparingInt(Venue::getCapacity);
+
+        for (int q = 0; q < 2000; q++) {
+            double budget = 25 * random.nextInt(90);
+            int guestCount = random.nextInt(320);
+            Venue expected = null;
+            for (Venue v : venues) {
+                if (v.getCost() <= budget && v.getCapacity() >= guestCount
+                        && (expected == null || order.compare(v, expected) < 0)) {
+                    expected = v;
+                }
+            }
+            assertSame(expected, selector.selectVenue(budget, guestCount));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 1000, 70_000})
+    void selectVenues_matchesOneByOne(int queryCount) {
+        Random random = new Random(queryCount);
+        List<Venue> venues = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            venues.add(new Venue("V" + i, 50 * random.nextInt(40), 10 * random.nextInt(30), 5, 10));
+        }
+        VenueSelector selector = new VenueSelector(venues);
+        double[] budgets = new double[queryCount];
+        int[] guestCounts = new int[queryCount];
+        for (int i = 0; i < queryCount; i++) {
+            budgets[i] = 25 * random.nextInt(90);
+            guestCounts[i] = random.nextInt(320);
+        }
+
+        Venue[] selected = selector.selectVenues(budgets, guestCounts);
+
+        assertEquals(queryCount, selected.length);
+        for (int i = 0; i < queryCount; i++) {
+            assertSame(selector.selectVenue(budgets[i], guestCounts[i]), selected[i]);
+        }
+        assertThrows(IllegalArgumentException.class, () -> selector.selectVenues(new double[1], new int[2]));
+    }
+
+    @Test
+    void topVenues_returnsBestFirst_underEachRanking() {
+        List<Venue> venues = Arrays.asList(
+            new Venue("Loft", 900, 40, 5, 8),
+            new Venue("Barn", 500, 120, 12, 10),
+            new Venue("Hall", 700, 60, 6, 10),
+            new Venue("Palace", 5000, 300, 30, 10),
+            new Venue("Shed", 100, 20, 2, 10));
+        VenueSelector selector = new VenueSelector(venues);
+
+        List<Venue> cheapest = selector.topVenues(1000, 40, 2);
+        assertEquals(List.of("Barn", "Hall"), cheapest.stream().map(Venue::getName).toList());
+        assertSame(selector.selectVenue(1000, 40), cheapest.get(0));
+
+        List<Venue> leastSlack = selector.topVenues(1000, 40, 3, VenueSelector.VenueScore.weighted(0, 1, 0));
+        assertEquals(List.of("Loft", "Hall", "Barn"), leastSlack.stream().map(Venue::getName).toList());
+
+        assertTrue(selector.topVenues(50, 40, 3).isEmpty());
+        assertTrue(selector.topVenues(1000, 40, 0).isEmpty());
+    }
+
+    @Test
+    void nearestMisses_ranksVenuesThatAlmostFit() {
+        List<Venue> venues = Arrays.asList(
+            new Venue("Loft", 900, 40, 5, 8),
+            new Venue("Barn", 500, 120, 12, 10),
+            new Venue("Palace", 5000, 300, 30, 10),
+            new Venue("Shed", 100, 20, 2, 10));
+        VenueSelector selector = new VenueSelector(venues);
+
+        assertNull(selector.selectVenue(450, 100));
+        List<Venue> misses = selector.nearestMisses(450, 100, 2);
+        assertEquals(List.of("Barn", "Shed"), misses.stream().map(Venue::getName).toList());
+    }
 }